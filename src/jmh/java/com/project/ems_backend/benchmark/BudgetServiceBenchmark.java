@@ -0,0 +1,69 @@
+package com.project.ems_backend.benchmark;
+
+import com.project.ems_backend.model.Budget;
+import com.project.ems_backend.model.BudgetReloadResult;
+import com.project.ems_backend.model.CategoryType;
+import com.project.ems_backend.service.BudgetService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.util.Date;
+import java.util.GregorianCalendar;
+import java.util.Calendar;
+import java.util.concurrent.TimeUnit;
+
+// BudgetService expense summation and remark computation against H2
+// mvn -Pbenchmark test-compile exec:exec -Djmh.args="BudgetServiceBenchmark -f 1"
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class BudgetServiceBenchmark {
+
+    private static final Date MARCH_START = new GregorianCalendar(2024, Calendar.MARCH, 1).getTime();
+    private static final Date MARCH_END = new GregorianCalendar(2024, Calendar.MARCH, 31).getTime();
+
+    @Param({"100000", "1000000"})
+    private int rows;
+
+    private ConfigurableApplicationContext context;
+    private BudgetService budgetService;
+    private Budget foodBudget;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = EmbeddedDatabase.start(rows);
+        budgetService = context.getBean(BudgetService.class);
+        foodBudget = new Budget(CategoryType.FOOD, BigDecimal.valueOf(1_000_000), BigDecimal.valueOf(1_000_000), null, null, null);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public BigDecimal totalExpensesAllTime() {
+        return budgetService.calculateTotalExpensesForCategory(CategoryType.FOOD, null, null);
+    }
+
+    @Benchmark
+    public BigDecimal totalExpensesOneMonth() {
+        return budgetService.calculateTotalExpensesForCategory(CategoryType.FOOD, MARCH_START, MARCH_END);
+    }
+
+    // Sum plus remaining amount and remark for one budget
+    @Benchmark
+    public String remainingAmountAndRemark() {
+        budgetService.updateRemainingAmount(foodBudget);
+        return foodBudget.getRemark();
+    }
+
+    // Every budget in one grouped query (POST /api/budgets/reload)
+    @Benchmark
+    public BudgetReloadResult reloadAllBudgets() {
+        return budgetService.updateAllBudgetsRemainingAmounts();
+    }
+}
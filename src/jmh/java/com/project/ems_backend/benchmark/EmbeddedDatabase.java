@@ -0,0 +1,30 @@
+package com.project.ems_backend.benchmark;
+
+import com.project.ems_backend.EmsBackendApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+// Boots the application without the web layer against the in-memory H2 database from src/test/resources
+// (MySQL mode, the same stand-in the integration tests use) and fills it with the benchmarks' synthetic rows
+final class EmbeddedDatabase {
+
+    private EmbeddedDatabase() {
+    }
+
+    static ConfigurableApplicationContext start(int transactions) {
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(EmsBackendApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties("logging.level.root=WARN",
+                        // DevTools would issue its own SHUTDOWN to the in-memory database on close and log a failure
+                        "spring.autoconfigure.exclude=org.springframework.boot.devtools.autoconfigure.DevToolsDataSourceAutoConfiguration")
+                .run();
+        try {
+            LoadTestSupport.seed(context, transactions); // the fixture the HTTP load tests use, from src/test/java
+        } catch (Exception e) {
+            context.close();
+            throw new IllegalStateException(e);
+        }
+        return context;
+    }
+}
@@ -0,0 +1,96 @@
+package com.project.ems_backend.benchmark;
+
+import com.project.ems_backend.model.Money;
+import com.project.ems_backend.model.Transaction;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// Summing expense amounts the way calculateTotalExpensesForCategory used to (stream reduce over BigDecimal amounts)
+// against adding long minor units, plus the remark computation in both representations.
+// mvn -Pbenchmark test-compile exec:exec -Djmh.args="MoneySumBenchmark -f 1 -prof gc"  (gc shows the allocation per call)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class MoneySumBenchmark {
+
+    @Param({"1000", "100000"})
+    private int size;
+
+    private List<Transaction> transactions;
+    private BigDecimal[] amounts;
+    private long[] minorUnits;
+    private BigDecimal budgetLimit;
+    private long budgetLimitMinorUnits;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        amounts = new BigDecimal[size];
+        minorUnits = new long[size];
+        for (int i = 0; i < size; i++) {
+            amounts[i] = BigDecimal.valueOf(random.nextInt(1_000_000), 2);
+            minorUnits[i] = Money.toMinorUnits(amounts[i]);
+        }
+        transactions = Arrays.stream(amounts).map(amount -> {
+            Transaction transaction = new Transaction();
+            transaction.setAmount(amount);
+            return transaction;
+        }).toList();
+        budgetLimit = BigDecimal.valueOf(size * 5000L, 2);
+        budgetLimitMinorUnits = Money.toMinorUnits(budgetLimit);
+    }
+
+    @Benchmark
+    public BigDecimal bigDecimalReduce() {
+        return transactions.stream().map(Transaction::getAmount).reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+
+    @Benchmark
+    public BigDecimal bigDecimalLoop() {
+        BigDecimal total = BigDecimal.ZERO;
+        for (BigDecimal amount : amounts) {
+            total = total.add(amount);
+        }
+        return total;
+    }
+
+    @Benchmark
+    public long minorUnitsLoop() {
+        long total = 0;
+        for (long amount : minorUnits) {
+            total += amount;
+        }
+        return total;
+    }
+
+    // Converting at the boundary included: what the long path costs when the input still arrives as BigDecimal
+    @Benchmark
+    public long minorUnitsFromBigDecimal() {
+        long total = 0;
+        for (BigDecimal amount : amounts) {
+            total += Money.toMinorUnits(amount);
+        }
+        return total;
+    }
+
+    @Benchmark
+    public String remarkBigDecimal() {
+        BigDecimal remaining = budgetLimit.subtract(bigDecimalLoop());
+        if (remaining.compareTo(BigDecimal.ZERO) < 0) {
+            return "Overspent";
+        }
+        return remaining.compareTo(budgetLimit) < 0 ? "Within Limit" : "Budget Intact";
+    }
+
+    @Benchmark
+    public String remarkMinorUnits() {
+        return Money.budgetRemark(budgetLimitMinorUnits - minorUnitsLoop(), budgetLimitMinorUnits);
+    }
+}
@@ -0,0 +1,54 @@
+package com.project.ems_backend.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.ems_backend.model.CategoryType;
+import com.project.ems_backend.model.Transaction;
+import com.project.ems_backend.model.TransactionType;
+import com.project.ems_backend.model.TransactionView;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Jackson serialization of the Page<TransactionView> returned by GET /api/transactions, with the ObjectMapper settings Spring MVC uses
+// mvn -Pbenchmark test-compile exec:exec -Djmh.args="PageSerializationBenchmark -f 1"
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class PageSerializationBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int pageSize;
+
+    private ObjectMapper objectMapper;
+    private Page<TransactionView> page;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        List<TransactionView> content = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            Transaction transaction = new Transaction(BigDecimal.valueOf(1000 + i, 2), TransactionType.EXPENSE, CategoryType.FOOD,
+                    "Lunch with the team " + i, new Date());
+            transaction.setId((long) i);
+            content.add(TransactionView.of(transaction));
+        }
+        page = new PageImpl<>(content, PageRequest.of(3, pageSize, Sort.by("id")), 100_000);
+    }
+
+    @Benchmark
+    public byte[] serializePage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(page);
+    }
+}
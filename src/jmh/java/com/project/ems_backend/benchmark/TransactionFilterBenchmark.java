@@ -0,0 +1,58 @@
+package com.project.ems_backend.benchmark;
+
+import com.project.ems_backend.model.TransactionFilter;
+import com.project.ems_backend.model.TransactionView;
+import com.project.ems_backend.service.TransactionService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+
+import java.util.concurrent.TimeUnit;
+
+// One page of TransactionService.getFilteredTransactions per filter type against H2
+// mvn -Pbenchmark test-compile exec:exec -Djmh.args="TransactionFilterBenchmark -f 1 -p rows=100000"
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class TransactionFilterBenchmark {
+
+    @Param({"100000"})
+    private int rows;
+
+    @Param({"contains", "startsWith", "endsWith", "equals", "notEquals", "notContains", "none"})
+    private String filterType;
+
+    // Selective enough that the n-gram index can answer contains/endsWith; "none" is the unfiltered listing
+    @Param({"ref4242"})
+    private String description;
+
+    private ConfigurableApplicationContext context;
+    private TransactionService transactionService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = EmbeddedDatabase.start(rows);
+        transactionService = context.getBean(TransactionService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Page<TransactionView> firstPage() {
+        return transactionService.getFilteredTransactions(0, 10, "id", filter());
+    }
+
+    @Benchmark
+    public Page<TransactionView> deepPage() {
+        return transactionService.getFilteredTransactions(500, 10, "id", filter());
+    }
+
+    private TransactionFilter filter() {
+        return TransactionFilter.of(null, "none".equals(filterType) ? null : description, filterType);
+    }
+}
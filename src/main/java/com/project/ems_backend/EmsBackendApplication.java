@@ -2,8 +2,10 @@ package com.project.ems_backend;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling // BudgetOutboxWorker
 public class EmsBackendApplication {
 
 	public static void main(String[] args) {
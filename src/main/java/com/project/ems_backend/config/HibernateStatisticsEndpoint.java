@@ -0,0 +1,105 @@
+package com.project.ems_backend.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.QueryStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// GET /actuator/hibernate: session factory statistics since start (or the last DELETE), the HQL/JPQL queries with the
+// most total time, second-level cache hits/misses per region and the recent N+1 suspects from QueryDiagnostics. Needs hibernate.generate_statistics=true.
+@Component
+@Endpoint(id = "hibernate")
+public class HibernateStatisticsEndpoint {
+
+    private static final int TOP_QUERIES = 10;
+
+    private final Statistics statistics;
+    private final QueryDiagnostics queryDiagnostics;
+
+    @Autowired
+    public HibernateStatisticsEndpoint(EntityManagerFactory entityManagerFactory, QueryDiagnostics queryDiagnostics) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        this.queryDiagnostics = queryDiagnostics;
+    }
+
+    @ReadOperation
+    public Map<String, Object> statistics() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("enabled", statistics.isStatisticsEnabled());
+        result.put("since", statistics.getStart());
+        result.put("sessionsOpened", statistics.getSessionOpenCount());
+        result.put("transactions", statistics.getTransactionCount());
+        result.put("statementsPrepared", statistics.getPrepareStatementCount());
+        result.put("queryExecutions", statistics.getQueryExecutionCount());
+        result.put("queryExecutionMaxTimeMs", statistics.getQueryExecutionMaxTime());
+        result.put("slowestQuery", statistics.getQueryExecutionMaxTimeQueryString());
+        result.put("entitiesLoaded", statistics.getEntityLoadCount());
+        result.put("entitiesFetched", statistics.getEntityFetchCount()); // lazy loads one row at a time, the usual N+1 source
+        result.put("entitiesInserted", statistics.getEntityInsertCount());
+        result.put("entitiesUpdated", statistics.getEntityUpdateCount());
+        result.put("entitiesDeleted", statistics.getEntityDeleteCount());
+        result.put("collectionsFetched", statistics.getCollectionFetchCount());
+        result.put("flushes", statistics.getFlushCount());
+        result.put("optimisticLockFailures", statistics.getOptimisticFailureCount());
+        result.put("queryCacheHits", statistics.getQueryCacheHitCount());
+        result.put("queryCacheMisses", statistics.getQueryCacheMissCount());
+        result.put("secondLevelCache", secondLevelCacheRegions());
+        result.put("topQueries", topQueries());
+        result.put("repeatedStatements", queryDiagnostics.recentFindings());
+        return result;
+    }
+
+    @DeleteOperation
+    public void reset() {
+        statistics.clear();
+    }
+
+    // Empty when the second-level cache is off
+    private Map<String, Object> secondLevelCacheRegions() {
+        Map<String, Object> regions = new LinkedHashMap<>();
+        for (String regionName : statistics.getSecondLevelCacheRegionNames()) {
+            CacheRegionStatistics region = statistics.getCacheRegionStatistics(regionName); // entity and query result regions alike
+            if (region == null) {
+                continue;
+            }
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("hits", region.getHitCount());
+            row.put("misses", region.getMissCount());
+            row.put("puts", region.getPutCount());
+            row.put("entriesInMemory", region.getElementCountInMemory());
+            regions.put(regionName, row);
+        }
+        return regions;
+    }
+
+    private List<Map<String, Object>> topQueries() {
+        return Arrays.stream(statistics.getQueries())
+                .map(query -> Map.entry(query, statistics.getQueryStatistics(query)))
+                .sorted(Comparator.comparingLong((Map.Entry<String, QueryStatistics> entry) -> entry.getValue().getExecutionTotalTime()).reversed())
+                .limit(TOP_QUERIES)
+                .map(entry -> {
+                    QueryStatistics query = entry.getValue();
+                    Map<String, Object> row = new LinkedHashMap<>();
+                    row.put("query", entry.getKey());
+                    row.put("executions", query.getExecutionCount());
+                    row.put("rows", query.getExecutionRowCount());
+                    row.put("totalTimeMs", query.getExecutionTotalTime());
+                    row.put("avgTimeMs", query.getExecutionAvgTime());
+                    row.put("maxTimeMs", query.getExecutionMaxTime());
+                    return row;
+                })
+                .toList();
+    }
+}
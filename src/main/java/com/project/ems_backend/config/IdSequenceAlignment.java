@@ -0,0 +1,68 @@
+package com.project.ems_backend.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.id.enhanced.DatabaseStructure;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+// Ids come from pooled sequences (see BaseIdEntity); on MySQL those are the one-row tables transaction_seq, budget_seq
+// and budget_outbox_seq, which ddl-auto creates starting at 1. A database whose rows were inserted under the former
+// IDENTITY ids already has those ids taken, so before anything is saved every sequence is raised above its table's
+// MAX(id). Runs while the context starts (after the schema update, before the web server takes requests) and
+// leaves sequences that are already ahead alone, so it is a no-op from the second start on.
+@Component
+public class IdSequenceAlignment {
+
+    private static final Logger log = LoggerFactory.getLogger(IdSequenceAlignment.class);
+
+    private final SessionFactoryImplementor sessionFactory;
+    private final EntityManager entityManager;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public IdSequenceAlignment(EntityManagerFactory entityManagerFactory, EntityManager entityManager, JdbcTemplate jdbcTemplate) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        this.entityManager = entityManager;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PostConstruct
+    public void align() {
+        sessionFactory.getMappingMetamodel().forEachEntityDescriptor(entity -> {
+            if (entity.getGenerator() instanceof SequenceStyleGenerator generator) {
+                align(entity.getEntityName(), generator.getDatabaseStructure());
+            }
+        });
+    }
+
+    private void align(String entityName, DatabaseStructure structure) {
+        Long maxId = entityManager.createQuery("select max(e.id) from " + entityName + " e", Long.class).getSingleResult();
+        if (maxId == null) {
+            return;
+        }
+        String sequence = sessionFactory.getSqlStringGenerationContext().format(structure.getPhysicalName());
+        // The pooled optimizer hands out the increment-size ids up to the value it reads, so that value must be
+        // at least MAX(id) + increment for the first id to be a new one
+        long next = maxId + structure.getIncrementSize();
+        if (structure.isPhysicalSequence()) {
+            String nextValue = sessionFactory.getJdbcServices().getDialect().getSequenceSupport().getSequenceNextValString(sequence);
+            Long current = jdbcTemplate.queryForObject(nextValue, Long.class);
+            if (current != null && current < next) {
+                jdbcTemplate.execute("alter sequence " + sequence + " restart with " + next);
+                log.info("Restarted sequence {} at {} (max id {})", sequence, next, maxId);
+            }
+        } else {
+            String column = SequenceStyleGenerator.DEF_VALUE_COLUMN;
+            if (jdbcTemplate.update("update " + sequence + " set " + column + " = ? where " + column + " < ?", next, next) > 0) {
+                log.info("Raised sequence table {} to {} (max id {})", sequence, next, maxId);
+            }
+        }
+    }
+}
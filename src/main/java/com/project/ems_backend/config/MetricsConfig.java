@@ -0,0 +1,57 @@
+package com.project.ems_backend.config;
+
+import com.project.ems_backend.service.BudgetCache;
+import com.project.ems_backend.service.TransactionQueryCache;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer queryDiagnosticsCustomizer(QueryDiagnostics queryDiagnostics) {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, queryDiagnostics);
+    }
+
+    // A registration bean rather than a @Component filter, which @WebMvcTest slices would pick up without QueryDiagnostics
+    @Bean
+    public FilterRegistrationBean<QueryDiagnosticsFilter> queryDiagnosticsFilter(QueryDiagnostics queryDiagnostics) {
+        FilterRegistrationBean<QueryDiagnosticsFilter> registration = new FilterRegistrationBean<>(new QueryDiagnosticsFilter(queryDiagnostics));
+        registration.addUrlPatterns("/api/*");
+        return registration;
+    }
+
+    // Hit/miss counters and entry count of the budget cache, read from its own counters at scrape time
+    @Bean
+    public MeterBinder budgetCacheMetrics(BudgetCache budgetCache) {
+        return registry -> {
+            FunctionCounter.builder("ems.budget.cache.requests", budgetCache, cache -> cache.stats().getHits())
+                    .tag("result", "hit").register(registry);
+            FunctionCounter.builder("ems.budget.cache.requests", budgetCache, cache -> cache.stats().getMisses())
+                    .tag("result", "miss").register(registry);
+            Gauge.builder("ems.budget.cache.size", budgetCache, cache -> cache.stats().getSize()).register(registry);
+        };
+    }
+
+    // Filtered transaction page cache: requests by result (local hit, shared hit, miss), hit ratio, size and evictions
+    @Bean
+    public MeterBinder transactionQueryCacheMetrics(TransactionQueryCache queryCache) {
+        return registry -> {
+            FunctionCounter.builder("ems.transaction.query.cache.requests", queryCache, cache -> cache.stats().localHits())
+                    .tag("result", "local-hit").register(registry);
+            FunctionCounter.builder("ems.transaction.query.cache.requests", queryCache, cache -> cache.stats().sharedHits())
+                    .tag("result", "shared-hit").register(registry);
+            FunctionCounter.builder("ems.transaction.query.cache.requests", queryCache, cache -> cache.stats().misses())
+                    .tag("result", "miss").register(registry);
+            FunctionCounter.builder("ems.transaction.query.cache.evictions", queryCache, cache -> cache.stats().evictions()).register(registry);
+            Gauge.builder("ems.transaction.query.cache.hit.ratio", queryCache, cache -> cache.stats().hitRatio()).register(registry);
+            Gauge.builder("ems.transaction.query.cache.size", queryCache, cache -> cache.stats().size()).register(registry);
+        };
+    }
+}
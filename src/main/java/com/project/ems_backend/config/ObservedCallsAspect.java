@@ -0,0 +1,112 @@
+package com.project.ems_backend.config;
+
+import com.project.ems_backend.model.Budget;
+import com.project.ems_backend.model.CategoryType;
+import com.project.ems_backend.model.Transaction;
+import com.project.ems_backend.model.TransactionFilter;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Times every public @Service method ("ems.service") and every repository call ("ems.repository") through the
+// Observation API, which records a timer and, with the tracing bridge on the classpath, a span per call.
+// Tags: class, method, outcome, filter.type (the filterType argument or that of a TransactionFilter) and category (a CategoryType argument or the
+// category of a Transaction/Budget argument). Every timer carries all tags, "none" when the call has no such argument.
+@Aspect
+@Component
+public class ObservedCallsAspect {
+
+    private static final String NONE = "none";
+
+    private final ObservationRegistry observationRegistry;
+    private final Map<Class<?>, String> repositoryNames = new ConcurrentHashMap<>();
+
+    @Autowired
+    public ObservedCallsAspect(ObservationRegistry observationRegistry) {
+        this.observationRegistry = observationRegistry;
+    }
+
+    @Around("@within(org.springframework.stereotype.Service) && execution(public * com.project.ems_backend..*(..))")
+    public Object observeService(ProceedingJoinPoint joinPoint) throws Throwable {
+        return observe("ems.service", joinPoint.getSignature().getDeclaringType().getSimpleName(), joinPoint);
+    }
+
+    // Spring Data repositories are proxies, so the name comes from the repository interface rather than from the declaring
+    // type (findAll, save etc. are declared on JpaRepository)
+    @Around("execution(* org.springframework.data.repository.Repository+.*(..))")
+    public Object observeRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+        return observe("ems.repository", repositoryNames.computeIfAbsent(joinPoint.getThis().getClass(), ObservedCallsAspect::repositoryName), joinPoint);
+    }
+
+    private Object observe(String name, String className, ProceedingJoinPoint joinPoint) throws Throwable {
+        MethodSignature signature = (MethodSignature) joinPoint.getSignature();
+        Observation observation = Observation.createNotStarted(name, observationRegistry)
+                .contextualName(className + "." + signature.getName())
+                .lowCardinalityKeyValue("class", className)
+                .lowCardinalityKeyValue("method", signature.getName())
+                .lowCardinalityKeyValue("filter.type", filterType(signature.getParameterNames(), joinPoint.getArgs()))
+                .lowCardinalityKeyValue("category", category(joinPoint.getArgs()))
+                .start();
+        try (Observation.Scope scope = observation.openScope()) {
+            Object result = joinPoint.proceed();
+            observation.lowCardinalityKeyValue("outcome", "success");
+            return result;
+        } catch (Throwable e) {
+            observation.lowCardinalityKeyValue("outcome", "error");
+            observation.error(e);
+            throw e;
+        } finally {
+            observation.stop();
+        }
+    }
+
+    // Free-text request parameter, so anything outside the known filter types is tagged "other" to keep the tag bounded
+    private static String filterType(String[] parameterNames, Object[] args) {
+        if (parameterNames == null) {
+            return NONE;
+        }
+        for (int i = 0; i < parameterNames.length; i++) {
+            if ("filterType".equals(parameterNames[i])) {
+                return filterTypeTag(args[i]);
+            }
+            if (args[i] instanceof TransactionFilter filter) {
+                return filterTypeTag(filter.filterType());
+            }
+        }
+        return NONE;
+    }
+
+    private static String filterTypeTag(Object filterType) {
+        return filterType == null ? NONE : TransactionFilter.DESCRIPTION_FILTERS.contains(filterType.toString()) ? filterType.toString() : "other";
+    }
+
+    private static String category(Object[] args) {
+        for (Object arg : args) {
+            CategoryType category = arg instanceof CategoryType categoryType ? categoryType
+                    : arg instanceof Transaction transaction ? transaction.getCategory()
+                    : arg instanceof Budget budget ? budget.getCategory()
+                    : null;
+            if (category != null) {
+                return category.name();
+            }
+        }
+        return NONE;
+    }
+
+    private static String repositoryName(Class<?> proxyClass) {
+        for (Class<?> type : proxyClass.getInterfaces()) {
+            if (type.getPackageName().startsWith("com.project.ems_backend")) {
+                return type.getSimpleName();
+            }
+        }
+        return proxyClass.getSimpleName();
+    }
+}
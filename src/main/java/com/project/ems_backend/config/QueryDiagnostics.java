@@ -0,0 +1,84 @@
+package com.project.ems_backend.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.*;
+
+// Counts the SQL statements Hibernate prepares while one HTTP request is handled (QueryDiagnosticsFilter opens and closes
+// the window). The per-request count goes to the "ems.request.statements" summary; the same statement prepared
+// diagnostics.n-plus-one.threshold times or more in one request is logged and counted as a likely N+1.
+// Statements outside a request (startup, background reloads, streamed exports on another thread) are not counted.
+@Component
+public class QueryDiagnostics implements StatementInspector {
+
+    private static final Logger log = LoggerFactory.getLogger(QueryDiagnostics.class);
+
+    private static final int RECENT_FINDINGS = 20;
+
+    private final MeterRegistry meterRegistry;
+    private final int repeatThreshold;
+    private final ThreadLocal<Map<String, Integer>> statements = new ThreadLocal<>();
+    private final Deque<RepeatedStatement> recentFindings = new ArrayDeque<>();
+
+    @Autowired
+    public QueryDiagnostics(MeterRegistry meterRegistry, @Value("${diagnostics.n-plus-one.threshold:10}") int repeatThreshold) {
+        this.meterRegistry = meterRegistry;
+        this.repeatThreshold = repeatThreshold;
+    }
+
+    public record RepeatedStatement(Instant at, String request, String sql, int count) {
+    }
+
+    @Override
+    public String inspect(String sql) {
+        Map<String, Integer> counts = statements.get();
+        if (counts != null) {
+            counts.merge(sql, 1, Integer::sum);
+        }
+        return sql;
+    }
+
+    public void begin() {
+        statements.set(new HashMap<>());
+    }
+
+    // Records the request's statements under its route (e.g. "GET /api/transactions/{id}") and returns how many there were
+    public int end(String request) {
+        Map<String, Integer> counts = statements.get();
+        statements.remove();
+        if (counts == null) {
+            return 0;
+        }
+        int total = 0;
+        for (Map.Entry<String, Integer> entry : counts.entrySet()) {
+            total += entry.getValue();
+            if (entry.getValue() >= repeatThreshold) {
+                log.warn("Possible N+1: {} ran the same statement {} times: {}", request, entry.getValue(), entry.getKey());
+                Counter.builder("ems.request.repeated.statements").tag("request", request).register(meterRegistry).increment();
+                remember(new RepeatedStatement(Instant.now(), request, entry.getKey(), entry.getValue()));
+            }
+        }
+        DistributionSummary.builder("ems.request.statements").tag("request", request).register(meterRegistry).record(total);
+        return total;
+    }
+
+    public synchronized List<RepeatedStatement> recentFindings() {
+        return new ArrayList<>(recentFindings);
+    }
+
+    private synchronized void remember(RepeatedStatement finding) {
+        if (recentFindings.size() == RECENT_FINDINGS) {
+            recentFindings.removeFirst();
+        }
+        recentFindings.addLast(finding);
+    }
+}
@@ -0,0 +1,32 @@
+package com.project.ems_backend.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+// Opens the QueryDiagnostics window around every /api request and closes it under the matched route pattern,
+// so ids in the path don't turn into separate tags (registered in MetricsConfig)
+public class QueryDiagnosticsFilter extends OncePerRequestFilter {
+
+    private final QueryDiagnostics queryDiagnostics;
+
+    public QueryDiagnosticsFilter(QueryDiagnostics queryDiagnostics) {
+        this.queryDiagnostics = queryDiagnostics;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        queryDiagnostics.begin();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            queryDiagnostics.end(request.getMethod() + " " + (pattern == null ? "unmatched" : pattern));
+        }
+    }
+}
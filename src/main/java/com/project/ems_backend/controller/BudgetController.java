@@ -1,15 +1,22 @@
 package com.project.ems_backend.controller;
 
 import com.project.ems_backend.model.Budget;
-import com.project.ems_backend.model.CategoryType;
+import com.project.ems_backend.model.BudgetCacheStats;
+import com.project.ems_backend.model.BudgetReloadResult;
+import com.project.ems_backend.model.BudgetView;
+import com.project.ems_backend.model.CursorSlice;
+import com.project.ems_backend.model.Money;
 import com.project.ems_backend.service.BudgetService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
-import java.util.Arrays;
 import java.util.List;
+import java.util.function.Supplier;
 
 @RestController
 @RequestMapping("api/budgets")
@@ -22,23 +29,42 @@ public class BudgetController {
     }
 
     @GetMapping("/{id}")
-    public Budget getBudgetById(@PathVariable("id") long id) {
-        return budgetService.getBudgetById(id);
+    public ResponseEntity<Budget> getBudgetById(@PathVariable("id") long id, WebRequest request) {
+        Budget budget = budgetService.getBudgetById(id); //usually from the second-level cache, no query
+        return conditional(request, budgetService.getBudgetETag(budget), () -> budget);
     }
 
     @GetMapping
-    public Page<Budget> getAllBudgets(
+    public ResponseEntity<Page<BudgetView>> getAllBudgets(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
-            @RequestParam(defaultValue = "id") String sortBy
+            @RequestParam(defaultValue = "id") String sortBy,
+            WebRequest request
     ){
-        return budgetService.getAllBudgets(page, size, sortBy);
+        return conditional(request, budgetService.getBudgetsETag(), () -> budgetService.getAllBudgets(page, size, sortBy));
     }
 
+    // Cursor-based listing without the COUNT query of the paged version
+    @GetMapping("/scroll")
+    public ResponseEntity<CursorSlice<Budget>> scrollBudgets(
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "id") String sortBy,
+            @RequestParam(required = false) String after,
+            WebRequest request
+    ){
+        try {
+            return conditional(request, budgetService.getBudgetsETag(), () -> budgetService.scrollBudgets(size, sortBy, after));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build(); //sortBy that can't be a keyset, or a broken cursor
+        }
+    }
 
     @PostMapping
-    public Budget createBudget(@RequestBody Budget budget){
-        return budgetService.saveBudget(budget);
+    public ResponseEntity<Budget> createBudget(@RequestBody Budget budget){
+        if (!Money.isMinorUnits(budget.getBudgetLimit()) || !Money.isMinorUnits(budget.getRemainingAmount())) {
+            return ResponseEntity.badRequest().build(); //fractions of a cent
+        }
+        return ResponseEntity.ok(budgetService.saveBudget(budget));
     }
 
     @DeleteMapping("/{id}")
@@ -47,23 +73,38 @@ public class BudgetController {
     }
 
     @PutMapping("/{id}")
-    public Budget updateBudget(@PathVariable Long id, @RequestBody Budget budget){
-        return budgetService.updateBudget(id, budget);
+    public ResponseEntity<Budget> updateBudget(@PathVariable Long id, @RequestBody Budget budget){
+        if (!Money.isMinorUnits(budget.getBudgetLimit())) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(budgetService.updateBudget(id, budget));
     }
 
     @PostMapping("/reload")
-    public ResponseEntity<Void> reloadBudgets(){   //void means there will be no data returned in the HTTP response body
-        budgetService.updateAllBudgetsRemainingAmounts();
-        return ResponseEntity.ok().build();
+    public ResponseEntity<BudgetReloadResult> reloadBudgets(){   //returns how many budgets were recalculated and how long it took
+        return ResponseEntity.ok(budgetService.updateAllBudgetsRemainingAmounts());
+    }
+
+    @GetMapping("/cache-stats")
+    public BudgetCacheStats getBudgetCacheStats(){   //hit/miss counters of the category -> budget cache used by transaction writes
+        return budgetService.getBudgetCacheStats();
+    }
+
+    // Budget GETs carry an ETag and must be revalidated (no-cache); a client sending it back in If-None-Match gets a 304
+    // without the body being serialized. The listings use the budget table version, read before the page query so a write
+    // in between can only make the body newer than its ETag, never older; the page query is skipped for a 304.
+    // A single budget uses its own change version, taken from the copy it serves: a second-level cache copy can lag writes
+    // made through another instance by up to its ttl (ehcache.xml), but its ETag then lags with it and still matches the body.
+    private <T> ResponseEntity<T> conditional(WebRequest request, String eTag, Supplier<T> body) {
+        if (request.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(CacheControl.noCache()).eTag(eTag).build();
+        }
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).eTag(eTag).body(body.get());
     }
 
     @GetMapping("/categories/{type}")
     public ResponseEntity<List<String>> getCategories(@PathVariable("type") String type) {
-        List<String> categories = Arrays.stream(CategoryType.values())         // converts array into a stream for performing operations like filtering and mapping on it
-                .filter(cat -> cat.getType().name().equalsIgnoreCase(type))           //cat represents each CategoryType value (category) as it is being processed in the stream
-                .map(Enum::name)     //maps each element in the filtered stream to its name of the enum value
-                .toList();
-        return ResponseEntity.ok(categories);
+        return CategoryResponses.forType(type);   //precomputed per type, repeat requests with the ETag get a 304
     }
 
 }
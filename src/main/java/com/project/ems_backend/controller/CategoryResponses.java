@@ -0,0 +1,53 @@
+package com.project.ems_backend.controller;
+
+import com.project.ems_backend.model.CategoryType;
+import com.project.ems_backend.model.TransactionType;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+// The category lists only change with a deploy, so the response for each transaction type is built once (immutable list,
+// ETag, start time as Last-Modified). Returning a ResponseEntity that carries validators lets Spring MVC answer a matching
+// If-None-Match/If-Modified-Since with a 304 without writing the body.
+final class CategoryResponses {
+
+    private static final Instant LAST_MODIFIED = Instant.now().truncatedTo(ChronoUnit.SECONDS); // HTTP dates have second precision
+    private static final CacheControl CACHE_CONTROL = CacheControl.maxAge(Duration.ofHours(1)).cachePublic();
+
+    private static final Map<String, ResponseEntity<List<String>>> BY_TYPE = new HashMap<>();
+    private static final ResponseEntity<List<String>> UNKNOWN_TYPE = response("none", List.of());
+
+    static {
+        for (TransactionType type : TransactionType.values()) {
+            List<String> categories = Arrays.stream(CategoryType.values())
+                    .filter(category -> category.getType() == type)
+                    .map(Enum::name)
+                    .toList();
+            BY_TYPE.put(type.name().toLowerCase(Locale.ROOT), response(type.name(), categories));
+        }
+    }
+
+    private CategoryResponses() {
+    }
+
+    // Type matched case-insensitively; an unknown type gets an empty list as before
+    static ResponseEntity<List<String>> forType(String type) {
+        return BY_TYPE.getOrDefault(type.toLowerCase(Locale.ROOT), UNKNOWN_TYPE);
+    }
+
+    private static ResponseEntity<List<String>> response(String type, List<String> categories) {
+        return ResponseEntity.ok()
+                .cacheControl(CACHE_CONTROL)
+                .eTag("categories-" + type + "-" + Integer.toHexString(categories.hashCode()))
+                .lastModified(LAST_MODIFIED)
+                .body(categories);
+    }
+}
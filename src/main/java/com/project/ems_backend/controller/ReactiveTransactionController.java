@@ -0,0 +1,74 @@
+package com.project.ems_backend.controller;
+
+import com.project.ems_backend.model.CategoryType;
+import com.project.ems_backend.model.Transaction;
+import com.project.ems_backend.model.TransactionFilter;
+import com.project.ems_backend.model.TransactionType;
+import com.project.ems_backend.model.TransactionView;
+import com.project.ems_backend.service.ReactiveTransactionService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.util.Set;
+
+// Read-only twin of TransactionController for clients that hold many slow connections open. Mono/Flux results are
+// handled as async requests, so the Tomcat thread goes back to the pool while the query waits for a database connection.
+@RestController
+@RequestMapping("api/reactive/transactions")
+public class ReactiveTransactionController {
+
+    private final ReactiveTransactionService reactiveTransactionService;
+
+    @Autowired
+    public ReactiveTransactionController(ReactiveTransactionService reactiveTransactionService) {
+        this.reactiveTransactionService = reactiveTransactionService;
+    }
+
+    // Same parameters and defaults as GET /api/transactions
+    @GetMapping
+    public Mono<Page<TransactionView>> getAllTransactions(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "id") String sortBy,
+            @RequestParam(required = false) Long id,
+            @RequestParam(required = false) String description,
+            @RequestParam(required = false, defaultValue = "contains") String filterType,
+            @RequestParam(required = false) BigDecimal minAmount,
+            @RequestParam(required = false) BigDecimal maxAmount,
+            @RequestParam(required = false) Set<TransactionType> type,
+            @RequestParam(required = false) Set<CategoryType> category
+    ){
+        return reactiveTransactionService.getFilteredTransactions(page, size, sortBy,
+                new TransactionFilter(id, description, filterType, minAmount, maxAmount, type, category));
+    }
+
+    // Every matching transaction as NDJSON, one line per row, read batchSize rows at a time as the client keeps up
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<Transaction> streamTransactions(
+            @RequestParam(defaultValue = "500") int batchSize,
+            @RequestParam(defaultValue = "id") String sortBy,
+            @RequestParam(required = false) String description,
+            @RequestParam(required = false, defaultValue = "contains") String filterType
+    ){
+        return reactiveTransactionService.streamTransactions(batchSize, sortBy, description, filterType)
+                .onErrorMap(IllegalArgumentException.class, ReactiveTransactionController::badRequest); //sortBy that can't be a keyset
+    }
+
+    @GetMapping("/{id}")
+    public Mono<Transaction> getTransactionById(@PathVariable("id") long id) {
+        return reactiveTransactionService.getTransactionById(id)
+                .onErrorMap(IllegalArgumentException.class, ReactiveTransactionController::badRequest); //no such transaction
+    }
+
+    // The 400 TransactionController answers for IllegalArgumentException; an error signal can't return a ResponseEntity
+    private static ResponseStatusException badRequest(IllegalArgumentException e) {
+        return new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+    }
+}
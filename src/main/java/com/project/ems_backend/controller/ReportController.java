@@ -0,0 +1,60 @@
+package com.project.ems_backend.controller;
+
+import com.project.ems_backend.model.*;
+import com.project.ems_backend.service.TransactionReportService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+// Reports over the in-memory snapshot (see TransactionReportService); from/to are optional inclusive dates
+@RestController
+@RequestMapping("api/reports")
+public class ReportController {
+    private final TransactionReportService reportService;
+
+    @Autowired
+    public ReportController(TransactionReportService reportService) {
+        this.reportService = reportService;
+    }
+
+    @GetMapping("/categories")
+    public List<CategoryReport> getCategoryReport(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) TransactionType type
+    ){
+        return reportService.getCategoryReport(from, to, type);
+    }
+
+    @GetMapping("/cash-flow")
+    public ResponseEntity<CashFlowReport> getCashFlow(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "month") String period
+    ){
+        try {
+            return ResponseEntity.ok(reportService.getCashFlow(from, to, period));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build(); //unknown period
+        }
+    }
+
+    @GetMapping("/top-descriptions")
+    public List<DescriptionTotal> getTopDescriptions(
+            @RequestParam CategoryType category,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "10") int limit
+    ){
+        return reportService.getTopDescriptions(category, from, to, limit);
+    }
+
+    @PostMapping("/refresh")
+    public ReportSnapshotInfo refreshSnapshot(){   //reloads the snapshot now instead of waiting for it to age out
+        return reportService.refresh();
+    }
+}
@@ -0,0 +1,48 @@
+package com.project.ems_backend.controller;
+
+import com.project.ems_backend.model.CategoryType;
+import com.project.ems_backend.model.RollupRebuildResult;
+import com.project.ems_backend.model.RollupTotal;
+import com.project.ems_backend.model.TransactionType;
+import com.project.ems_backend.service.TransactionRollupService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@RequestMapping("api/rollups")
+public class RollupController {
+    private final TransactionRollupService rollupService;
+
+    @Autowired
+    public RollupController(TransactionRollupService rollupService) {
+        this.rollupService = rollupService;
+    }
+
+    // Spend per category/type per day or month, read from the rollup table (defaults: last month by day, last year by month)
+    @GetMapping
+    public ResponseEntity<List<RollupTotal>> getRollups(
+            @RequestParam(defaultValue = "month") String period,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) CategoryType category,
+            @RequestParam(required = false) TransactionType type
+    ){
+        LocalDate end = to == null ? LocalDate.now() : to;
+        LocalDate start = from != null ? from : "day".equals(period) ? end.minusMonths(1) : end.minusYears(1).withDayOfMonth(1);
+        try {
+            return ResponseEntity.ok(rollupService.getRollups(period, start, end, category, type));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build(); //unknown period
+        }
+    }
+
+    @PostMapping("/rebuild")
+    public ResponseEntity<RollupRebuildResult> rebuildRollups(){   //recomputes the rollup table from the transactions
+        return ResponseEntity.ok(rollupService.rebuild());
+    }
+}
@@ -1,39 +1,93 @@
 package com.project.ems_backend.controller;
 
 import com.project.ems_backend.model.CategoryType;
+import com.project.ems_backend.model.CursorSlice;
+import com.project.ems_backend.model.ImportResult;
+import com.project.ems_backend.model.Money;
 import com.project.ems_backend.model.Transaction;
+import com.project.ems_backend.model.TransactionFilter;
+import com.project.ems_backend.model.TransactionType;
+import com.project.ems_backend.model.TransactionView;
+import com.project.ems_backend.service.TransactionExportService;
+import com.project.ems_backend.service.TransactionImportService;
 import com.project.ems_backend.service.TransactionService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.util.Arrays;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
 import java.util.List;
+import java.util.Set;
 
 @RestController
 @RequestMapping("api/transactions")
 public class TransactionController {
 
     private final TransactionService transactionService;
+    private final TransactionImportService transactionImportService;
+    private final TransactionExportService transactionExportService;
 
     @Autowired
-    public TransactionController(TransactionService transactionService) {
+    public TransactionController(TransactionService transactionService, TransactionImportService transactionImportService,
+                                 TransactionExportService transactionExportService) {
         this.transactionService = transactionService;
+        this.transactionImportService = transactionImportService;
+        this.transactionExportService = transactionExportService;
     }
 
     @GetMapping
-    public Page<Transaction> getAllTransactions(
+    public Page<TransactionView> getAllTransactions(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "id") String sortBy,
             @RequestParam(required = false) Long id, //for filtering transaction by id
             @RequestParam(required = false) String description,
+            @RequestParam(required = false, defaultValue = "contains") String filterType,
+            @RequestParam(required = false) BigDecimal minAmount,
+            @RequestParam(required = false) BigDecimal maxAmount,
+            @RequestParam(required = false) Set<TransactionType> type, //repeat the parameter (or comma-separate) for several
+            @RequestParam(required = false) Set<CategoryType> category
+    ){
+        return transactionService.getFilteredTransactions(page, size, sortBy,
+                new TransactionFilter(id, description, filterType, minAmount, maxAmount, type, category));
+    }
+
+
+    // Cursor-based listing: pass the nextCursor of the previous response as "after" to get the following slice
+    @GetMapping("/scroll")
+    public ResponseEntity<CursorSlice<Transaction>> scrollTransactions(
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "id") String sortBy,
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) String description,
             @RequestParam(required = false, defaultValue = "contains") String filterType
     ){
-        return transactionService.getFilteredTransactions(page, size, sortBy, id, description, filterType);
+        try {
+            return ResponseEntity.ok(transactionService.scrollTransactions(size, sortBy, after, description, filterType));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build(); //sortBy that can't be a keyset, or a broken cursor
+        }
     }
 
+    // Streams every transaction as CSV or NDJSON in one response instead of paging through the listing
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportTransactions(@RequestParam(defaultValue = "csv") String format) {
+        boolean csv = "csv".equalsIgnoreCase(format);
+        if (!csv && !"ndjson".equalsIgnoreCase(format)) {
+            return ResponseEntity.badRequest().build();
+        }
+        StreamingResponseBody body = output -> transactionExportService.exportTransactions(output, format); //runs after the handler returns, writing as rows are read
+        return ResponseEntity.ok()
+                .contentType(csv ? MediaType.parseMediaType("text/csv") : MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"transactions." + (csv ? "csv" : "ndjson") + "\"")
+                .body(body);
+    }
 
     @GetMapping("/{id}")
     public Transaction getTransactionById(@PathVariable("id") long id) {
@@ -41,8 +95,28 @@ public class TransactionController {
     }
 
     @PostMapping
-    public Transaction createTransaction(@RequestBody Transaction transaction){
-        return transactionService.saveTransaction(transaction);
+    public ResponseEntity<Transaction> createTransaction(@RequestBody Transaction transaction){
+        if (!Money.isMinorUnits(transaction.getAmount())) {
+            return ResponseEntity.badRequest().build(); //fractions of a cent
+        }
+        return ResponseEntity.ok(transactionService.saveTransaction(transaction));
+    }
+
+    @PostMapping("/bulk")
+    public ResponseEntity<List<Transaction>> createTransactions(@RequestBody List<Transaction> transactions){ //saves a whole list of transactions in one request
+        if (!transactions.stream().allMatch(transaction -> Money.isMinorUnits(transaction.getAmount()))) {
+            return ResponseEntity.badRequest().build(); //nothing of the list is saved
+        }
+        return ResponseEntity.ok(transactionService.saveAllTransactions(transactions));
+    }
+
+    // Streams a CSV (text/csv) or NDJSON (application/x-ndjson) file from the request body and saves it in chunks
+    @PostMapping(value = "/import", consumes = {"text/csv", MediaType.APPLICATION_NDJSON_VALUE})
+    public ImportResult importTransactions(@RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType, InputStream body) throws IOException {
+        if (MediaType.parseMediaType(contentType).isCompatibleWith(MediaType.APPLICATION_NDJSON)) {
+            return transactionImportService.importNdjson(body);
+        }
+        return transactionImportService.importCsv(body);
     }
 
     @DeleteMapping("/{id}")
@@ -51,18 +125,16 @@ public class TransactionController {
     }
 
     @PutMapping("/{id}")
-    public Transaction updateTransaction(@PathVariable Long id, @RequestBody Transaction transaction){
-        return transactionService.updateTransaction(id, transaction);
+    public ResponseEntity<Transaction> updateTransaction(@PathVariable Long id, @RequestBody Transaction transaction){
+        if (!Money.isMinorUnits(transaction.getAmount())) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(transactionService.updateTransaction(id, transaction));
     }
 
     @GetMapping("/categories/{type}")
     public ResponseEntity<List<String>> getCategories(@PathVariable("type") String type) {
-        List<String> categories = Arrays.stream(CategoryType.values())         // converts array into a stream for performing operations like filtering and mapping on it
-                .filter(cat -> cat.getType().name().equalsIgnoreCase(type))           //cat represents each CategoryType value (category) as it is being processed in the stream
-                .map(Enum::name)     //maps each element in the filtered stream to its name of the enum value
-                .toList();
-
-        return ResponseEntity.ok(categories);
+        return CategoryResponses.forType(type);   //precomputed per type, repeat requests with the ETag get a 304
     }
 
 }
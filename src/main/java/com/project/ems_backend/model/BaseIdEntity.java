@@ -12,8 +12,10 @@ import lombok.Setter;
 @MappedSuperclass
 public abstract class BaseIdEntity {
 
+    // Pooled sequence (a table-backed hi/lo on MySQL) instead of IDENTITY: ids are handed out 50 at a time
+    // without a round trip per row, which lets Hibernate group inserts into JDBC batches
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE)
     private Long id;
 
 }
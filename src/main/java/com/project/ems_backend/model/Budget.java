@@ -1,19 +1,23 @@
 package com.project.ems_backend.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
-import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.math.BigDecimal;
 import java.util.Date;
 
 @Getter
 @Setter
-@AllArgsConstructor
 @NoArgsConstructor
 @Entity
+@Cacheable // second-level cache, regions in ehcache.xml
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "budget")
 @Table
 public class Budget extends BaseIdEntity{
     @Enumerated(EnumType.STRING)
@@ -28,4 +32,21 @@ public class Budget extends BaseIdEntity{
     private Date endDate;
 
     private String remark;
+
+    // Bumped on every write to the row: by Hibernate for entity writes (which fail when the row changed since it was read),
+    // by BudgetRepository.addToRemainingAmount in the database. Summed into the budget table version that the listing ETags
+    // are derived from, so each write changes the ETag and an entity write can't overwrite a concurrent remainingAmount delta.
+    @JsonIgnore
+    @Version
+    @ColumnDefault("0")
+    private long changeVersion;
+
+    public Budget(CategoryType category, BigDecimal budgetLimit, BigDecimal remainingAmount, Date startDate, Date endDate, String remark) {
+        this.category = category;
+        this.budgetLimit = budgetLimit;
+        this.remainingAmount = remainingAmount;
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.remark = remark;
+    }
 }
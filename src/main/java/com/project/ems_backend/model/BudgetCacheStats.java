@@ -0,0 +1,21 @@
+package com.project.ems_backend.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// Counters returned by GET /api/budgets/cache-stats
+@Getter
+@AllArgsConstructor
+public class BudgetCacheStats {
+
+    private long hits;
+
+    private long misses; // each miss is one findByCategory query
+
+    private int size; // cached categories, including ones known to have no budget
+
+    public double getHitRate() {
+        long lookups = hits + misses;
+        return lookups == 0 ? 0 : (double) hits / lookups;
+    }
+}
@@ -0,0 +1,24 @@
+package com.project.ems_backend.model;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+// A pending change to a budget's remaining amount, written in the same database transaction as the transaction row
+// when budgets.updates.async is on, and applied later by BudgetOutboxWorker (see BudgetService.adjustRemainingAmount)
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(name = "budget_outbox", indexes = @Index(name = "idx_budget_outbox_budget", columnList = "budgetId"))
+public class BudgetOutboxEvent extends BaseIdEntity {
+
+    private Long budgetId;
+
+    private BigDecimal amount; // added to remainingAmount: negative for a new expense, positive for a reversed one
+}
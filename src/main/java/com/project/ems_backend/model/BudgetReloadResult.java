@@ -0,0 +1,16 @@
+package com.project.ems_backend.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// Summary returned by POST /api/budgets/reload
+@Getter
+@AllArgsConstructor
+public class BudgetReloadResult {
+
+    private int budgetsScanned;
+
+    private int budgetsUpdated; // rows whose remaining amount or remark actually changed
+
+    private long elapsedMillis;
+}
@@ -0,0 +1,9 @@
+package com.project.ems_backend.model;
+
+import java.math.BigDecimal;
+import java.util.Date;
+
+// Row of the budget listing, same JSON as Budget; see TransactionView
+public record BudgetView(Long id, CategoryType category, BigDecimal budgetLimit, BigDecimal remainingAmount, Date startDate,
+                         Date endDate, String remark) {
+}
@@ -0,0 +1,34 @@
+package com.project.ems_backend.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+// Result of GET /api/reports/cash-flow: income versus expense over the whole range and per day or month
+@Getter
+@AllArgsConstructor
+public class CashFlowReport {
+
+    private BigDecimal income;
+
+    private BigDecimal expense;
+
+    private BigDecimal net; // income - expense
+
+    private List<Period> periods; // only periods with at least one transaction
+
+    @Getter
+    @AllArgsConstructor
+    public static class Period {
+
+        private String period;
+
+        private BigDecimal income;
+
+        private BigDecimal expense;
+
+        private BigDecimal net;
+    }
+}
@@ -0,0 +1,26 @@
+package com.project.ems_backend.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+
+// One line of GET /api/reports/categories; percentiles are nearest-rank over the individual amounts
+@Getter
+@AllArgsConstructor
+public class CategoryReport {
+
+    private CategoryType category;
+
+    private long count;
+
+    private BigDecimal total;
+
+    private BigDecimal average;
+
+    private BigDecimal p50;
+
+    private BigDecimal p90;
+
+    private BigDecimal p99;
+}
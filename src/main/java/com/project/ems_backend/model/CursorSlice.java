@@ -0,0 +1,19 @@
+package com.project.ems_backend.model;
+
+import lombok.Getter;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+
+import java.util.List;
+
+// A Slice (no total count) plus the opaque token that fetches the next one; nextCursor is null on the last slice
+@Getter
+public class CursorSlice<T> extends SliceImpl<T> {
+
+    private final String nextCursor;
+
+    public CursorSlice(List<T> content, Pageable pageable, boolean hasNext, String nextCursor) {
+        super(content, pageable, hasNext);
+        this.nextCursor = nextCursor;
+    }
+}
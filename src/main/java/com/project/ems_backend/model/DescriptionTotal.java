@@ -0,0 +1,18 @@
+package com.project.ems_backend.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+
+// One line of GET /api/reports/top-descriptions (descriptions are grouped ignoring case)
+@Getter
+@AllArgsConstructor
+public class DescriptionTotal {
+
+    private String description;
+
+    private long count;
+
+    private BigDecimal total;
+}
@@ -0,0 +1,59 @@
+package com.project.ems_backend.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Progress and outcome of a streaming transaction import (POST /api/transactions/import)
+@Getter
+public class ImportResult {
+
+    private long rowsRead;
+
+    private long rowsImported;
+
+    private long rowsFailed;
+
+    private int chunksCommitted;
+
+    private long elapsedMillis;
+
+    private final List<RowError> errors = new ArrayList<>(); // only the first maxErrors are kept so a bad file can't fill the heap
+
+    private final int maxErrors;
+
+    public ImportResult(int maxErrors) {
+        this.maxErrors = maxErrors;
+    }
+
+    public void rowRead() {
+        rowsRead++;
+    }
+
+    public void chunkCommitted(int rows) {
+        rowsImported += rows;
+        chunksCommitted++;
+    }
+
+    public void rowFailed(long line, String message) {
+        rowsFailed++;
+        if (errors.size() < maxErrors) {
+            errors.add(new RowError(line, message));
+        }
+    }
+
+    public void finish(long elapsedMillis) {
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class RowError {
+
+        private long line;
+
+        private String message;
+    }
+}
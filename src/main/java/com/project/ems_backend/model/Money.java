@@ -0,0 +1,53 @@
+package com.project.ems_backend.model;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+// Amounts as long minor units (cents) for arithmetic on the hot paths: adding longs allocates nothing, adding BigDecimals
+// allocates a new object every time. BigDecimal stays the type at the JSON and database boundary (DECIMAL columns,
+// amounts in request/response bodies), and converting is exact: an amount that isn't a whole number of cents is rejected, never rounded.
+public final class Money {
+
+    public static final int SCALE = 2;
+
+    private Money() {
+    }
+
+    public static long toMinorUnits(BigDecimal amount) {
+        try {
+            BigDecimal minorUnits = amount.movePointRight(SCALE); // cheap for the usual scale 0..2, no BigInteger involved
+            if (minorUnits.scale() > 0) {
+                minorUnits = minorUnits.setScale(0, RoundingMode.UNNECESSARY); // throws when there are fractions of a cent
+            }
+            return minorUnits.longValueExact();
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Amount must have at most " + SCALE + " decimal places and fit in a long: " + amount, e);
+        }
+    }
+
+    // Checked where amounts come in (request bodies, saveBudget), so an amount with fractions of a cent is a 400
+    // before anything is written instead of an exception halfway through the budget update
+    public static boolean isMinorUnits(BigDecimal amount) {
+        if (amount == null) {
+            return true;
+        }
+        try {
+            toMinorUnits(amount);
+            return true;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    public static BigDecimal fromMinorUnits(long minorUnits) {
+        return BigDecimal.valueOf(minorUnits, SCALE);
+    }
+
+    // Same rules as BudgetService.updateBudgetRemark and BudgetRepository.addToRemainingAmount
+    public static String budgetRemark(long remainingMinorUnits, long budgetLimitMinorUnits) {
+        if (remainingMinorUnits < 0) {
+            return "Overspent";
+        }
+        return remainingMinorUnits < budgetLimitMinorUnits ? "Within Limit" : "Budget Intact";
+    }
+}
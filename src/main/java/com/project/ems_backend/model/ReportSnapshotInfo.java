@@ -0,0 +1,18 @@
+package com.project.ems_backend.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.Instant;
+
+// Returned by POST /api/reports/refresh
+@Getter
+@AllArgsConstructor
+public class ReportSnapshotInfo {
+
+    private int rows;
+
+    private Instant builtAt;
+
+    private long buildMillis;
+}
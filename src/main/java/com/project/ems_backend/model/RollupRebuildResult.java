@@ -0,0 +1,14 @@
+package com.project.ems_backend.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// Summary returned by POST /api/rollups/rebuild
+@Getter
+@AllArgsConstructor
+public class RollupRebuildResult {
+
+    private int rowsWritten;
+
+    private long elapsedMillis;
+}
@@ -0,0 +1,22 @@
+package com.project.ems_backend.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+
+// One line of GET /api/rollups: the total of a category/type in a day ("2024-03-15") or month ("2024-03")
+@Getter
+@AllArgsConstructor
+public class RollupTotal {
+
+    private String period;
+
+    private CategoryType category;
+
+    private TransactionType type;
+
+    private BigDecimal total;
+
+    private long transactionCount;
+}
@@ -1,18 +1,32 @@
 package com.project.ems_backend.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
-import lombok.AllArgsConstructor;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.math.BigDecimal;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.Locale;
 
 @Getter
 @Setter
-@AllArgsConstructor
 @NoArgsConstructor
 @Entity
-@Table
+@Cacheable // second-level cache, regions in ehcache.xml
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "transaction")
+@Table(indexes = {
+        // Budget totals filter on category + type and a date range, so the date is the last column of the index
+        @Index(name = "idx_transaction_category_type_date", columnList = "category, type, transaction_date"),
+        // Lower-cased copy of the description, so prefix/equals filters are index range scans instead of LOWER(description) scans
+        @Index(name = "idx_transaction_description_normalized", columnList = "description_normalized"),
+        // Amount range filters of the listing (minAmount/maxAmount)
+        @Index(name = "idx_transaction_amount", columnList = "amount")
+})
 public class Transaction extends BaseIdEntity{
 
     private BigDecimal amount;
@@ -25,5 +39,50 @@ public class Transaction extends BaseIdEntity{
 
     private String description;
 
-}
+    @Temporal(TemporalType.DATE) //only the day matters for budget windows
+    private Date transactionDate;
+
+    // Maintained from description on every insert/update; used by the repository filters, never sent to clients
+    @JsonIgnore
+    @Setter(AccessLevel.NONE)
+    private String descriptionNormalized;
+
+    public Transaction(BigDecimal amount, TransactionType type, CategoryType category, String description) {
+        this(amount, type, category, description, null);
+    }
+
+    public Transaction(BigDecimal amount, TransactionType type, CategoryType category, String description, Date transactionDate) {
+        this.amount = amount;
+        this.type = type;
+        this.category = category;
+        this.description = description;
+        this.transactionDate = startOfDay(transactionDate);
+    }
+
+    // The column only keeps the day, so the in-memory date is cut to it as well; otherwise a transaction on a budget's
+    // endDate (midnight) falls outside the window until it is reloaded
+    public void setTransactionDate(Date transactionDate) {
+        this.transactionDate = startOfDay(transactionDate);
+    }
 
+    // Transactions created without a date happened today
+    @PrePersist
+    void beforeInsert() {
+        if (transactionDate == null) {
+            transactionDate = new Date();
+        }
+        transactionDate = startOfDay(transactionDate);
+        normalizeDescription();
+    }
+
+    @PreUpdate
+    void normalizeDescription() {
+        descriptionNormalized = description == null ? null : description.toLowerCase(Locale.ROOT);
+    }
+
+    private static Date startOfDay(Date date) {
+        return date == null ? null
+                : Date.from(date.toInstant().atZone(ZoneId.systemDefault()).toLocalDate().atStartOfDay(ZoneId.systemDefault()).toInstant());
+    }
+
+}
@@ -0,0 +1,38 @@
+package com.project.ems_backend.model;
+
+import java.math.BigDecimal;
+import java.util.Locale;
+import java.util.Set;
+
+// Conditions of the transaction listing (GET /api/transactions), all ANDed into one query by TransactionSpecifications.matching.
+// Every field is optional: null (or an empty set) means no condition. Amount bounds are inclusive
+// (a minAmount above maxAmount matches nothing).
+public record TransactionFilter(Long id, String description, String filterType, BigDecimal minAmount, BigDecimal maxAmount,
+                                Set<TransactionType> types, Set<CategoryType> categories) {
+
+    // The filterType values TransactionSpecifications.description knows; also the filter.type tags of ObservedCallsAspect
+    public static final Set<String> DESCRIPTION_FILTERS = Set.of("contains", "startsWith", "endsWith", "equals", "notEquals", "notContains");
+
+    // The id/description filters the listing had before amount, type and category conditions existed
+    public static TransactionFilter of(Long id, String description, String filterType) {
+        return new TransactionFilter(id, description, filterType, null, null, null, null);
+    }
+
+    // Equal filters select the same rows: the description without a known filter type is dropped (it lists everything),
+    // the description is lower-cased like descriptionNormalized, amounts lose trailing zeros and empty sets mean no condition
+    public TransactionFilter normalized() {
+        boolean describes = description != null && filterType != null && DESCRIPTION_FILTERS.contains(filterType);
+        return new TransactionFilter(id,
+                describes ? description.toLowerCase(Locale.ROOT) : null,
+                describes ? filterType : null,
+                minAmount == null ? null : minAmount.stripTrailingZeros(),
+                maxAmount == null ? null : maxAmount.stripTrailingZeros(),
+                types == null || types.isEmpty() ? null : Set.copyOf(types),
+                categories == null || categories.isEmpty() ? null : Set.copyOf(categories));
+    }
+
+    // Only an id condition, answered by a primary-key lookup (and the second-level cache) instead of a query
+    public boolean isIdLookup() {
+        return id != null && description == null && minAmount == null && maxAmount == null && types == null && categories == null;
+    }
+}
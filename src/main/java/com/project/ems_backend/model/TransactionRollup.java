@@ -0,0 +1,27 @@
+package com.project.ems_backend.model;
+
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+// Daily totals per category and type, kept up to date by TransactionService on every write (see TransactionRollupService).
+// Dashboards read these rows instead of the transactions, so a summary costs one row per day in the range.
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(name = "transaction_rollup")
+public class TransactionRollup {
+
+    @EmbeddedId
+    private TransactionRollupId id;
+
+    private BigDecimal total;
+
+    private long transactionCount;
+}
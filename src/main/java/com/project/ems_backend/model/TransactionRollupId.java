@@ -0,0 +1,31 @@
+package com.project.ems_backend.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+// One rollup row per day, category and type
+@Getter
+@EqualsAndHashCode
+@AllArgsConstructor
+@NoArgsConstructor
+@Embeddable
+public class TransactionRollupId implements Serializable {
+
+    @Column(name = "rollup_date")
+    private LocalDate rollupDate;
+
+    @Enumerated(EnumType.STRING)
+    private CategoryType category;
+
+    @Enumerated(EnumType.STRING)
+    private TransactionType type;
+}
@@ -0,0 +1,15 @@
+package com.project.ems_backend.model;
+
+import java.math.BigDecimal;
+import java.util.Date;
+
+// Row of the transaction listing: the columns clients see (same JSON as Transaction), selected directly instead of
+// loading managed entities, so a page costs no persistence context entries, snapshots or second-level cache puts
+public record TransactionView(Long id, BigDecimal amount, TransactionType type, CategoryType category, String description,
+                              Date transactionDate) {
+
+    public static TransactionView of(Transaction transaction) {
+        return new TransactionView(transaction.getId(), transaction.getAmount(), transaction.getType(), transaction.getCategory(),
+                transaction.getDescription(), transaction.getTransactionDate());
+    }
+}
@@ -0,0 +1,11 @@
+package com.project.ems_backend.repository;
+
+import java.math.BigDecimal;
+
+// Projection for the per-budget expense total computed over each budget's own date window
+public interface BudgetExpenseTotal {
+
+    Long getBudgetId();
+
+    BigDecimal getTotal();
+}
@@ -0,0 +1,29 @@
+package com.project.ems_backend.repository;
+
+import com.project.ems_backend.model.BudgetOutboxEvent;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface BudgetOutboxRepository extends JpaRepository<BudgetOutboxEvent, Long> {
+
+    // Oldest events, locked; lock timeout -2 is Hibernate's SKIP LOCKED, so a second node draining at the same time
+    // takes the next events instead of waiting for (or applying again) the ones already being applied
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT e FROM BudgetOutboxEvent e ORDER BY e.id")
+    List<BudgetOutboxEvent> findOldestForUpdate(Pageable pageable);
+
+    @Query("SELECT e.id FROM BudgetOutboxEvent e")
+    List<Long> findPendingIds();
+
+    @Query("SELECT e.id FROM BudgetOutboxEvent e WHERE e.budgetId = :budgetId")
+    List<Long> findPendingIdsByBudgetId(@Param("budgetId") Long budgetId);
+}
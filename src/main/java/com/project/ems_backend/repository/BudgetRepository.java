@@ -1,13 +1,62 @@
 package com.project.ems_backend.repository;
 
 import com.project.ems_backend.model.Budget;
+import com.project.ems_backend.model.BudgetView;
 import com.project.ems_backend.model.CategoryType;
+import com.project.ems_backend.model.TransactionType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.util.List;
 import java.util.Optional;
 
-public interface BudgetRepository extends JpaRepository<Budget, Long> {
+public interface BudgetRepository extends JpaRepository<Budget, Long>, JpaSpecificationExecutor<Budget> {
 
     //If no budget is found for the given category, the method returns an Optional.empty() instead of null. This makes code safer and helps avoid NullPointerExceptions
+    //Cacheable query: repeat lookups come from the second-level cache until a budget write invalidates the result
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Budget> findByCategory(CategoryType category);
+
+    // Budget listing as BudgetView records: Spring Data selects just their columns (a DTO projection), so no entities are
+    // loaded, tracked or put in the second-level cache; read-only, so the session isn't flushed first
+    @Transactional(readOnly = true)
+    Page<BudgetView> findViewsBy(Pageable pageable);
+
+    // Database read for write paths, see TransactionRepository.findFreshById
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "REFRESH"))
+    Optional<Budget> findFreshById(Long id);
+
+    // Atomic in-database adjustment of the remaining amount, so concurrent transaction writes can't lose each other's updates.
+    // The remark is assigned first so it is computed from the old remaining amount plus the delta (same rules as BudgetService.updateBudgetRemark)
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Budget b SET " +
+            "b.remark = CASE WHEN b.remainingAmount + :delta < 0 THEN 'Overspent' " +
+            "WHEN b.remainingAmount + :delta < b.budgetLimit THEN 'Within Limit' ELSE 'Budget Intact' END, " +
+            "b.remainingAmount = b.remainingAmount + :delta, " +
+            "b.changeVersion = b.changeVersion + 1 " +
+            "WHERE b.id = :id")
+    int addToRemainingAmount(@Param("id") Long id, @Param("delta") BigDecimal delta);
+
+    // Version of the whole table for conditional GETs. Ids only grow and per-row change versions only go up, so the row
+    // count and id sum change with every insert or delete and the version sum with every update.
+    @Query("SELECT COUNT(b) AS budgets, COALESCE(SUM(b.id), 0) AS idSum, COALESCE(SUM(b.changeVersion), 0) AS changeVersionSum FROM Budget b")
+    BudgetTableVersion findTableVersion();
+
+    // Expense total for every budget in one query, each summed only over the budget's own start/end window (open ends when a date is null)
+    @Query("SELECT b.id AS budgetId, COALESCE(SUM(t.amount), 0) AS total FROM Budget b " +
+            "LEFT JOIN Transaction t ON t.category = b.category AND t.type = :type " +
+            "AND (b.startDate IS NULL OR t.transactionDate >= b.startDate) " +
+            "AND (b.endDate IS NULL OR t.transactionDate <= b.endDate) " +
+            "GROUP BY b.id")
+    List<BudgetExpenseTotal> sumAmountPerBudgetWindow(@Param("type") TransactionType type);
 }
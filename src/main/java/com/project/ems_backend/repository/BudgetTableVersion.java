@@ -0,0 +1,11 @@
+package com.project.ems_backend.repository;
+
+// Projection for BudgetRepository.findTableVersion
+public interface BudgetTableVersion {
+
+    Long getBudgets();
+
+    Long getIdSum();
+
+    Long getChangeVersionSum();
+}
@@ -0,0 +1,22 @@
+package com.project.ems_backend.repository;
+
+import com.project.ems_backend.model.CategoryType;
+import com.project.ems_backend.model.TransactionType;
+
+import java.math.BigDecimal;
+
+// Projection for the daily rollup rows grouped by month
+public interface MonthlyRollupTotal {
+
+    Integer getRollupYear();
+
+    Integer getRollupMonth();
+
+    CategoryType getCategory();
+
+    TransactionType getType();
+
+    BigDecimal getTotal();
+
+    Long getTransactionCount();
+}
@@ -0,0 +1,21 @@
+package com.project.ems_backend.repository;
+
+import com.project.ems_backend.model.CategoryType;
+import com.project.ems_backend.model.TransactionType;
+
+import java.math.BigDecimal;
+import java.util.Date;
+
+// Projection streamed into the report snapshot; description is the lower-cased one
+public interface TransactionReportRow {
+
+    BigDecimal getAmount();
+
+    CategoryType getCategory();
+
+    TransactionType getType();
+
+    Date getTransactionDate();
+
+    String getDescription();
+}
@@ -3,39 +3,59 @@ package com.project.ems_backend.repository;
 import com.project.ems_backend.model.CategoryType;
 import com.project.ems_backend.model.Transaction;
 import com.project.ems_backend.model.TransactionType;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
-import java.util.List;
-
-public interface TransactionRepository extends JpaRepository<Transaction, Long> {
-
-    // Handle "contains" filtering
-    //LOWER converts description to lowercase to make search case-insensitive. LIKE for pattern matching for any description that contains search term
-    @Query("SELECT t FROM Transaction  t WHERE LOWER(t.description) LIKE LOWER(CONCAT('%', :description, '%'))") //concatenates the wildcard characters (%) before and after, (to search term anywhere within the string)
-    Page<Transaction> findByDescriptionContaining(@Param("description") String description, Pageable pageable);
-
-    // Handle "startsWith" filtering
-    @Query("SELECT t FROM Transaction t WHERE LOWER(t.description) LIKE LOWER(CONCAT(:description, '%'))")
-    Page<Transaction> findByDescriptionStartingWith(@Param("description") String description, Pageable pageable);
-
-    // Handle "endsWith" filtering
-    @Query("SELECT t FROM Transaction t WHERE LOWER(t.description) LIKE LOWER(CONCAT('%', :description))")
-    Page<Transaction> findByDescriptionEndingWith(@Param("description") String description, Pageable pageable);
-
-    // Handle "equals" filtering
-    @Query("SELECT t FROM Transaction t WHERE LOWER(t.description) = LOWER(:description)")
-    Page<Transaction> findByDescriptionEquals(@Param("description") String description, Pageable pageable);
-
-    @Query("SELECT t FROM Transaction  t WHERE LOWER(t.description) != LOWER(:description)")
-    Page<Transaction> findByDescriptionNotEquals(String description, Pageable pageable);
-
-    @Query("SELECT t FROM Transaction t WHERE LOWER(t.description) NOT LIKE LOWER(CONCAT('%', :description, '%' ))")
-    Page<Transaction> findByDescriptionNotContains(String description, Pageable pageable);
-
-    List<Transaction> findByCategoryAndType(CategoryType category, TransactionType type);
+import java.math.BigDecimal;
+import java.util.Date;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+// The listing filters are TransactionSpecifications run through JpaSpecificationExecutor, not one query per filter type
+public interface TransactionRepository extends JpaRepository<Transaction, Long>, JpaSpecificationExecutor<Transaction>, TransactionViewRepository {
+
+    // For write paths: a query always reads the row from the database, where findById may return a second-level cache entry
+    // that another instance has since outdated; the fresh row also replaces the cached one (CacheMode.REFRESH)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "REFRESH"))
+    Optional<Transaction> findFreshById(Long id);
+
+    // Walks the whole table through a JDBC cursor instead of pages; rows are fetched 1000 at a time and the entities are read-only.
+    // Callers set their session to CacheMode.IGNORE first, so a full scan doesn't push the frequently read rows out of the
+    // second-level cache (a cache-mode hint here would only cover opening the cursor, not the rows read while iterating)
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<Transaction> streamAllByOrderByIdAsc();
+
+    // Only the columns the report snapshot keeps, streamed without hydrating entities (see TransactionReportService)
+    @Query("SELECT t.amount AS amount, t.category AS category, t.type AS type, t.transactionDate AS transactionDate, " +
+            "COALESCE(t.descriptionNormalized, LOWER(t.description)) AS description FROM Transaction t")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<TransactionReportRow> streamReportRows();
+
+    // Fills descriptionNormalized for rows written before the column existed
+    @Modifying
+    @Query("UPDATE Transaction t SET t.descriptionNormalized = LOWER(t.description) WHERE t.descriptionNormalized IS NULL AND t.description IS NOT NULL")
+    int backfillDescriptionNormalized();
+
+    // Sum of amounts for one category/type computed by the database, so no Transaction rows are loaded into memory
+    @Query("SELECT COALESCE(SUM(t.amount), 0) FROM Transaction t WHERE t.category = :category AND t.type = :type")
+    BigDecimal sumAmountByCategoryAndType(@Param("category") CategoryType category, @Param("type") TransactionType type);
+
+    // Same sum restricted to a date window, so the cost follows the window size and not the whole history (uses idx_transaction_category_type_date)
+    @Query("SELECT COALESCE(SUM(t.amount), 0) FROM Transaction t WHERE t.category = :category AND t.type = :type " +
+            "AND t.transactionDate BETWEEN :startDate AND :endDate")
+    BigDecimal sumAmountByCategoryAndTypeBetween(@Param("category") CategoryType category, @Param("type") TransactionType type,
+                                                 @Param("startDate") Date startDate, @Param("endDate") Date endDate);
 
 }
@@ -0,0 +1,64 @@
+package com.project.ems_backend.repository;
+
+import com.project.ems_backend.model.CategoryType;
+import com.project.ems_backend.model.TransactionRollup;
+import com.project.ems_backend.model.TransactionRollupId;
+import com.project.ems_backend.model.TransactionType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+public interface TransactionRollupRepository extends JpaRepository<TransactionRollup, TransactionRollupId> {
+
+    // Adds to the day's row, creating it on first use; a single statement, so concurrent writers can't lose each other's deltas
+    // (ON DUPLICATE KEY UPDATE is MySQL syntax, H2 accepts it in MySQL mode).
+    // The native statements name the table they write, otherwise Hibernate clears every second-level cache region after them
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "transaction_rollup"))
+    @Query(value = "INSERT INTO transaction_rollup (rollup_date, category, type, total, transaction_count) " +
+            "VALUES (:rollupDate, :category, :type, :amount, :count) " +
+            "ON DUPLICATE KEY UPDATE total = total + VALUES(total), transaction_count = transaction_count + VALUES(transaction_count)",
+            nativeQuery = true)
+    int addToRollup(@Param("rollupDate") LocalDate rollupDate, @Param("category") String category, @Param("type") String type,
+                    @Param("amount") BigDecimal amount, @Param("count") long count);
+
+    @Modifying
+    @Query("DELETE FROM TransactionRollup")
+    int deleteAllRollups();
+
+    // Recomputes every row from the transactions in one statement. Rows without a date, category or type are left out:
+    // those columns are the rollup's primary key.
+    // Flushes first: with only transaction_rollup as its query space, Hibernate wouldn't flush pending transaction rows itself
+    @Modifying(flushAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "transaction_rollup"))
+    @Query(value = "INSERT INTO transaction_rollup (rollup_date, category, type, total, transaction_count) " +
+            "SELECT transaction_date, category, type, SUM(amount), COUNT(*) FROM transaction " +
+            "WHERE transaction_date IS NOT NULL AND category IS NOT NULL AND type IS NOT NULL GROUP BY transaction_date, category, type",
+            nativeQuery = true)
+    int insertRollupsFromTransactions();
+
+    // Null filters match everything
+    @Query("SELECT r FROM TransactionRollup r WHERE r.id.rollupDate BETWEEN :from AND :to " +
+            "AND (:category IS NULL OR r.id.category = :category) AND (:type IS NULL OR r.id.type = :type) " +
+            "AND r.transactionCount > 0 ORDER BY r.id.rollupDate, r.id.category, r.id.type")
+    List<TransactionRollup> findDaily(@Param("from") LocalDate from, @Param("to") LocalDate to,
+                                      @Param("category") CategoryType category, @Param("type") TransactionType type);
+
+    @Query("SELECT YEAR(r.id.rollupDate) AS rollupYear, MONTH(r.id.rollupDate) AS rollupMonth, r.id.category AS category, r.id.type AS type, " +
+            "SUM(r.total) AS total, SUM(r.transactionCount) AS transactionCount FROM TransactionRollup r " +
+            "WHERE r.id.rollupDate BETWEEN :from AND :to " +
+            "AND (:category IS NULL OR r.id.category = :category) AND (:type IS NULL OR r.id.type = :type) " +
+            "GROUP BY YEAR(r.id.rollupDate), MONTH(r.id.rollupDate), r.id.category, r.id.type " +
+            "HAVING SUM(r.transactionCount) > 0 " +
+            "ORDER BY YEAR(r.id.rollupDate), MONTH(r.id.rollupDate), r.id.category, r.id.type")
+    List<MonthlyRollupTotal> findMonthly(@Param("from") LocalDate from, @Param("to") LocalDate to,
+                                         @Param("category") CategoryType category, @Param("type") TransactionType type);
+}
@@ -0,0 +1,89 @@
+package com.project.ems_backend.repository;
+
+import com.project.ems_backend.model.CategoryType;
+import com.project.ems_backend.model.Transaction;
+import com.project.ems_backend.model.TransactionFilter;
+import com.project.ems_backend.model.TransactionType;
+import jakarta.persistence.criteria.Path;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.Locale;
+
+// Criteria building blocks of the transaction listing. Each one is a single condition on an indexed column (or no condition
+// when its argument is null), so a TransactionFilter with any mix of them is still one query the database can plan with an index
+public final class TransactionSpecifications {
+
+    private TransactionSpecifications() {
+    }
+
+    // Every condition of the filter, ANDed
+    public static Specification<Transaction> matching(TransactionFilter filter) {
+        return Specification.where(id(filter.id()))
+                .and(description(filter.description(), filter.filterType()))
+                .and(amountBetween(filter.minAmount(), filter.maxAmount()))
+                .and(typeIn(filter.types()))
+                .and(categoryIn(filter.categories()));
+    }
+
+    public static Specification<Transaction> id(Long id) {
+        if (id == null) {
+            return Specification.where(null);
+        }
+        return (root, query, cb) -> cb.equal(root.get("id"), id);
+    }
+
+    // Candidate ids found by TransactionSearchIndex; the other conditions only re-check those rows
+    public static Specification<Transaction> idIn(Collection<Long> ids) {
+        return (root, query, cb) -> root.get("id").in(ids);
+    }
+
+    // Unknown or missing filter types match everything
+    public static Specification<Transaction> description(String description, String filterType) {
+        if (description == null || filterType == null) {
+            return Specification.where(null);
+        }
+        String term = description.toLowerCase(Locale.ROOT);
+        return (root, query, cb) -> {
+            Path<String> column = root.get("descriptionNormalized"); // already lower-cased, see Transaction.normalizeDescription
+            return switch (filterType) {
+                case "contains" -> cb.like(column, "%" + term + "%");
+                case "startsWith" -> cb.like(column, term + "%");
+                case "endsWith" -> cb.like(column, "%" + term);
+                case "equals" -> cb.equal(column, term);
+                case "notEquals" -> cb.notEqual(column, term);
+                case "notContains" -> cb.notLike(column, "%" + term + "%");
+                default -> null;
+            };
+        };
+    }
+
+    // Inclusive bounds, either one may be open (idx_transaction_amount)
+    public static Specification<Transaction> amountBetween(BigDecimal min, BigDecimal max) {
+        if (min == null && max == null) {
+            return Specification.where(null);
+        }
+        return (root, query, cb) -> {
+            Path<BigDecimal> amount = root.get("amount");
+            return min == null ? cb.lessThanOrEqualTo(amount, max)
+                    : max == null ? cb.greaterThanOrEqualTo(amount, min)
+                    : cb.between(amount, min, max);
+        };
+    }
+
+    public static Specification<Transaction> typeIn(Collection<TransactionType> types) {
+        if (types == null || types.isEmpty()) {
+            return Specification.where(null);
+        }
+        return (root, query, cb) -> root.get("type").in(types);
+    }
+
+    // Leading column of idx_transaction_category_type_date
+    public static Specification<Transaction> categoryIn(Collection<CategoryType> categories) {
+        if (categories == null || categories.isEmpty()) {
+            return Specification.where(null);
+        }
+        return (root, query, cb) -> root.get("category").in(categories);
+    }
+}
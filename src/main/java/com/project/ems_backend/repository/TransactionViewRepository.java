@@ -0,0 +1,13 @@
+package com.project.ems_backend.repository;
+
+import com.project.ems_backend.model.Transaction;
+import com.project.ems_backend.model.TransactionView;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+
+// Listing queries that select TransactionView columns instead of entities; part of TransactionRepository
+public interface TransactionViewRepository {
+
+    Page<TransactionView> findViews(Specification<Transaction> specification, Pageable pageable);
+}
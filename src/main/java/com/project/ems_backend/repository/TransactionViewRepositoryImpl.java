@@ -0,0 +1,65 @@
+package com.project.ems_backend.repository;
+
+import com.project.ems_backend.model.Transaction;
+import com.project.ems_backend.model.TransactionView;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+// Same page and count as findAll(specification, pageable), but the page query is a constructor expression: Hibernate
+// builds the records straight from the result set. Read-only transaction, so Spring sets the session to FlushMode.MANUAL
+// and nothing pending is flushed before the SELECTs.
+@Transactional(readOnly = true)
+public class TransactionViewRepositoryImpl implements TransactionViewRepository {
+
+    private final EntityManager entityManager;
+
+    @Autowired
+    public TransactionViewRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public Page<TransactionView> findViews(Specification<Transaction> specification, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<TransactionView> query = cb.createQuery(TransactionView.class);
+        Root<Transaction> root = query.from(Transaction.class);
+        query.select(cb.construct(TransactionView.class, root.get("id"), root.get("amount"), root.get("type"), root.get("category"),
+                root.get("description"), root.get("transactionDate")));
+        where(query, root, cb, specification);
+        query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+
+        List<TransactionView> content = entityManager.createQuery(query)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize())
+                .getResultList();
+        return PageableExecutionUtils.getPage(content, pageable, () -> count(specification)); //no COUNT when the page says it all
+    }
+
+    private long count(Specification<Transaction> specification) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Transaction> root = query.from(Transaction.class);
+        query.select(cb.count(root));
+        where(query, root, cb, specification);
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    private static void where(CriteriaQuery<?> query, Root<Transaction> root, CriteriaBuilder cb, Specification<Transaction> specification) {
+        Predicate predicate = specification.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.project.ems_backend.service;
+
+import com.project.ems_backend.model.Budget;
+import com.project.ems_backend.model.BudgetCacheStats;
+import com.project.ems_backend.model.CategoryType;
+import com.project.ems_backend.repository.BudgetRepository;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Date;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// Budget per category for the transaction write path, so saving an expense doesn't need a budget SELECT first.
+// Only the id and the window are cached: the remaining amount keeps changing in the database (see addToRemainingAmount)
+// and is never read from here. BudgetService writes through on save/update/delete and clears everything on reload.
+@Component
+public class BudgetCache {
+
+    private final BudgetRepository budgetRepository;
+    private final Map<CategoryType, Optional<CachedBudget>> budgets = new ConcurrentHashMap<>(); // empty = category has no budget
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    private long version; // bumped by every write, so a lookup that raced with a write doesn't cache what it read before it
+
+    @Autowired
+    public BudgetCache(BudgetRepository budgetRepository) {
+        this.budgetRepository = budgetRepository;
+    }
+
+    public Optional<CachedBudget> get(CategoryType category) {
+        Optional<CachedBudget> cached = budgets.get(category);
+        if (cached != null) {
+            hits.increment();
+            return cached;
+        }
+
+        misses.increment();
+        long versionBeforeLoad = currentVersion();
+        Optional<CachedBudget> loaded = budgetRepository.findByCategory(category).map(CachedBudget::of);
+        synchronized (this) {
+            if (version == versionBeforeLoad) {
+                budgets.putIfAbsent(category, loaded);
+            }
+        }
+        return loaded;
+    }
+
+    // Write-through after a budget was saved; also drops the entry of its old category if the category changed
+    public synchronized void put(Budget budget) {
+        version++;
+        removeById(budget.getId());
+        if (budget.getCategory() != null) {
+            budgets.put(budget.getCategory(), Optional.of(CachedBudget.of(budget)));
+        }
+    }
+
+    // put once the surrounding transaction commits: a save that rolls back (or loses its optimistic lock) must not
+    // leave a category or window in the cache that the database never had
+    public void putAfterCommit(Budget budget) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            put(budget);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                put(budget);
+            }
+        });
+    }
+
+    public synchronized void evict(Long budgetId) {
+        version++;
+        removeById(budgetId);
+    }
+
+    public synchronized void invalidateAll() {
+        version++;
+        budgets.clear();
+    }
+
+    public BudgetCacheStats stats() {
+        return new BudgetCacheStats(hits.sum(), misses.sum(), budgets.size());
+    }
+
+    private synchronized long currentVersion() {
+        return version;
+    }
+
+    private void removeById(Long budgetId) {
+        budgets.values().removeIf(entry -> entry.map(cached -> Objects.equals(cached.getId(), budgetId)).orElse(false));
+    }
+
+    // The parts of a Budget that transaction writes need and that only change through BudgetService
+    @Getter
+    @AllArgsConstructor
+    public static class CachedBudget {
+        private final Long id;
+        private final Date startDate;
+        private final Date endDate;
+
+        static CachedBudget of(Budget budget) {
+            return new CachedBudget(budget.getId(), budget.getStartDate(), budget.getEndDate());
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.project.ems_backend.service;
+
+import com.project.ems_backend.model.BudgetOutboxEvent;
+import com.project.ems_backend.model.Money;
+import com.project.ems_backend.repository.BudgetOutboxRepository;
+import com.project.ems_backend.repository.BudgetRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Applies the budget changes queued in budget_outbox: every budgets.updates.flush-interval it takes the oldest events in
+// batches, nets them per budget and runs one addToRemainingAmount per budget. The update and the delete of the events
+// commit together, so an event is applied exactly once even across a crash or restart (leftovers are applied on startup).
+@Component
+public class BudgetOutboxWorker {
+
+    private static final Logger log = LoggerFactory.getLogger(BudgetOutboxWorker.class);
+
+    private final BudgetOutboxRepository outboxRepository;
+    private final BudgetRepository budgetRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean asyncUpdates;
+    private final int batchSize;
+
+    @Autowired
+    public BudgetOutboxWorker(BudgetOutboxRepository outboxRepository, BudgetRepository budgetRepository, PlatformTransactionManager transactionManager,
+                              @Value("${budgets.updates.async:false}") boolean asyncUpdates,
+                              @Value("${budgets.updates.batch-size:1000}") int batchSize) {
+        this.outboxRepository = outboxRepository;
+        this.budgetRepository = budgetRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.asyncUpdates = asyncUpdates;
+        this.batchSize = batchSize;
+    }
+
+    // Also in synchronous mode, for events left behind when async mode was switched off
+    @EventListener(ApplicationReadyEvent.class)
+    public void applyLeftovers() {
+        long applied = flush();
+        if (applied > 0) {
+            log.info("Applied {} queued budget changes left from before the restart", applied);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${budgets.updates.flush-interval:PT1S}")
+    public void flushIfAsync() {
+        if (asyncUpdates) {
+            flush();
+        }
+    }
+
+    // Returns the number of events applied
+    public long flush() {
+        long applied = 0;
+        int batch;
+        do {
+            batch = transactionTemplate.execute(status -> applyBatch());
+            applied += batch;
+        } while (batch == batchSize);
+        return applied;
+    }
+
+    private int applyBatch() {
+        List<BudgetOutboxEvent> events = outboxRepository.findOldestForUpdate(PageRequest.of(0, batchSize));
+        Map<Long, Long> deltas = new HashMap<>(); // minor units per budget
+        for (BudgetOutboxEvent event : events) {
+            deltas.merge(event.getBudgetId(), Money.toMinorUnits(event.getAmount()), Math::addExact);
+        }
+        deltas.forEach((budgetId, delta) -> {
+            if (delta != 0) {
+                budgetRepository.addToRemainingAmount(budgetId, Money.fromMinorUnits(delta)); // no row (budget deleted since) updates nothing
+            }
+        });
+        outboxRepository.deleteAllInBatch(events);
+        return events.size();
+    }
+}
@@ -1,31 +1,66 @@
 package com.project.ems_backend.service;
 
 import com.project.ems_backend.model.Budget;
+import com.project.ems_backend.model.BudgetCacheStats;
+import com.project.ems_backend.model.BudgetReloadResult;
+import com.project.ems_backend.model.BudgetView;
 import com.project.ems_backend.model.CategoryType;
+import com.project.ems_backend.model.CursorSlice;
+import com.project.ems_backend.model.Money;
 import com.project.ems_backend.model.Transaction;
 import com.project.ems_backend.model.TransactionType;
+import com.project.ems_backend.model.BudgetOutboxEvent;
+import com.project.ems_backend.repository.BudgetOutboxRepository;
 import com.project.ems_backend.repository.BudgetRepository;
+import com.project.ems_backend.repository.BudgetTableVersion;
 import com.project.ems_backend.repository.TransactionRepository;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Sort;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.*;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
-import java.util.List;
+import java.util.*;
+import java.util.function.Supplier;
 
 
 @Service
 public class BudgetService {
 
+    // Stand-ins for an open-ended budget window
+    private static final Date EARLIEST_DATE = new Date(0);
+    private static final Date LATEST_DATE = new GregorianCalendar(9999, Calendar.DECEMBER, 31).getTime();
+
+    private static final CategoryType[] CATEGORIES = CategoryType.values();
+
+    // Keyset sort keys of scrollBudgets (see KeysetCursor): dates and the remark may be NULL
+    private static final Set<String> SCROLL_SORT_KEYS = Set.of("id", "category", "budgetLimit");
+
+    // Recounts that lost the race against a concurrent addToRemainingAmount are run again this many times in all
+    private static final int RECOUNT_ATTEMPTS = 3;
+
     private final BudgetRepository budgetRepository;
     private final TransactionRepository transactionRepository;
+    private final BudgetCache budgetCache;
+    private final BudgetOutboxRepository outboxRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean asyncUpdates; // budgets.updates.async: transaction writes only queue budget changes (see adjustRemainingAmount)
 
     @Autowired
-    public BudgetService(BudgetRepository budgetRepository, TransactionRepository transactionRepository) {
+    public BudgetService(BudgetRepository budgetRepository, TransactionRepository transactionRepository, BudgetCache budgetCache,
+                         BudgetOutboxRepository outboxRepository, PlatformTransactionManager transactionManager,
+                         @Value("${budgets.updates.async:false}") boolean asyncUpdates) {
         this.budgetRepository = budgetRepository;
         this.transactionRepository = transactionRepository;
+        this.budgetCache = budgetCache;
+        this.outboxRepository = outboxRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.asyncUpdates = asyncUpdates;
     }
 
     // Fetch all budgets without pagination (used by TransactionService)
@@ -33,31 +68,67 @@ public class BudgetService {
         return budgetRepository.findAll();
     }
 
+    // Served from the second-level cache once the row was read; its ETag comes from the same copy (see getBudgetETag)
     public Budget getBudgetById(long id) {
         return budgetRepository.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Budget not found with id: " + id));
     }
 
-    public Page<Budget> getAllBudgets(int page, int size, String sortBy) {
-        return budgetRepository.findAll(PageRequest.of(page, size, Sort.by(sortBy)));
+    public Page<BudgetView> getAllBudgets(int page, int size, String sortBy) {
+        return budgetRepository.findViewsBy(PageRequest.of(page, size, Sort.by(sortBy)));
+    }
+
+    // Validator for the budget GET responses; changes with any write to the budget table (see BudgetRepository.findTableVersion)
+    public String getBudgetsETag() {
+        BudgetTableVersion version = budgetRepository.findTableVersion();
+        return "\"budgets-" + version.getBudgets() + "-" + version.getIdSum() + "-" + version.getChangeVersionSum() + "\"";
+    }
+
+    // Validator for one budget, from the copy being served: every write to the row bumps its change version
+    public String getBudgetETag(Budget budget) {
+        return "\"budget-" + budget.getId() + "-" + budget.getChangeVersion() + "\"";
+    }
+
+    // Keyset mode of the budget listing (see KeysetCursor)
+    public CursorSlice<Budget> scrollBudgets(int size, String sortBy, String after) {
+        Sort sort = KeysetCursor.sort(sortBy, SCROLL_SORT_KEYS);
+        KeysetScrollPosition position = after == null ? ScrollPosition.keyset() : KeysetCursor.decode(after, Budget.class, sort);
+
+        Window<Budget> window = budgetRepository.findBy(Specification.where(null), query -> query.sortBy(sort).limit(size).scroll(position));
+        return KeysetCursor.slice(window, PageRequest.of(0, size, sort));
     }
 
     public Budget saveBudget(Budget budget) {
+        // Checked before the insert: this method has no transaction, a failing remark below would leave the row behind
+        if (!Money.isMinorUnits(budget.getBudgetLimit()) || !Money.isMinorUnits(budget.getRemainingAmount())) {
+            throw new IllegalArgumentException("Budget amounts must have at most " + Money.SCALE + " decimal places");
+        }
         // Initialize remainingAmount to budgetLimit if it's a new budget
         if (budget.getId() == null) {
             budget.setRemainingAmount(budget.getBudgetLimit());
+        } else {
+            // the change version isn't part of the JSON; keep counting from the stored one so the table version can't go back
+            budgetRepository.findFreshById(budget.getId()).ifPresent(existing -> budget.setChangeVersion(existing.getChangeVersion()));
         }
         Budget savedBudget = budgetRepository.save(budget);
         updateBudgetRemark(savedBudget); // Update remark after saving
+        budgetCache.put(savedBudget);
         return savedBudget;
     }
 
     public void deleteBudget(Long id) {
         budgetRepository.deleteById(id);
+        budgetCache.evict(id);
     }
 
     public Budget updateBudget(Long id, Budget updatedBudget) {
-        Budget existingBudget = getBudgetById(id);
+        return recount(() -> applyBudgetUpdate(id, updatedBudget));
+    }
+
+    private Budget applyBudgetUpdate(Long id, Budget updatedBudget) {
+        Budget existingBudget = budgetRepository.findFreshById(id) // not a possibly outdated second-level cache copy
+                .orElseThrow(() -> new IllegalArgumentException("Budget not found with id: " + id));
+        List<Long> pendingEvents = asyncUpdates ? outboxRepository.findPendingIdsByBudgetId(id) : List.of(); // covered by the recount below
 
         existingBudget.setCategory(updatedBudget.getCategory());
         existingBudget.setBudgetLimit(updatedBudget.getBudgetLimit());
@@ -70,7 +141,10 @@ public class BudgetService {
         // Update the remark based on the new remaining amount
         updateBudgetRemark(existingBudget);
 
-        return budgetRepository.save(existingBudget);
+        Budget savedBudget = budgetRepository.save(existingBudget);
+        outboxRepository.deleteAllByIdInBatch(pendingEvents);
+        budgetCache.putAfterCommit(savedBudget); // category or window may have changed
+        return savedBudget;
     }
 
     public Budget getBudgetByCategory(CategoryType category) {
@@ -80,58 +154,161 @@ public class BudgetService {
 
     // Update remaining amount based on total expenses for the budget category
     public void updateRemainingAmount(Budget budget) {
-        BigDecimal totalExpenses = calculateTotalExpensesForCategory(budget.getCategory());
+        BigDecimal totalExpenses = calculateTotalExpensesForCategory(budget.getCategory(), budget.getStartDate(), budget.getEndDate());
         budget.setRemainingAmount(budget.getBudgetLimit().subtract(totalExpenses));
 
         // Logic to update the remark based on remaining amount
         updateBudgetRemark(budget);
     }
 
-    // Calculate total expenses for a specific category
-    public BigDecimal calculateTotalExpensesForCategory(CategoryType category) {
-        List<Transaction> expenses = transactionRepository.findByCategoryAndType(category, TransactionType.EXPENSE);
-        return expenses.stream()
-                .map(Transaction::getAmount) //for each Transaction, map its amount
-                .reduce(BigDecimal.ZERO, BigDecimal::add); //sums up all the transaction amounts, starting with zero
+    // Calculate total expenses for a specific category within the budget window (summed in the database, only the total is returned)
+    public BigDecimal calculateTotalExpensesForCategory(CategoryType category, Date startDate, Date endDate) {
+        if (startDate == null && endDate == null) {
+            return transactionRepository.sumAmountByCategoryAndType(category, TransactionType.EXPENSE); // budget without a window covers all time
+        }
+        return transactionRepository.sumAmountByCategoryAndTypeBetween(category, TransactionType.EXPENSE,
+                startDate == null ? EARLIEST_DATE : startDate, endDate == null ? LATEST_DATE : endDate);
     }
 
     // Update all budgets remaining amounts (batch process)
-    public void updateAllBudgetsRemainingAmounts() {
+    // One grouped SUM query covers every budget window; the changed budgets are flushed together as JDBC batch updates when the transaction commits
+    // The elapsed time includes the commit, where the batched updates are actually written (and any retried attempts)
+    public BudgetReloadResult updateAllBudgetsRemainingAmounts() {
+        long start = System.nanoTime();
+        BudgetReloadResult counts = recount(this::recountAllBudgets);
+        return new BudgetReloadResult(counts.getBudgetsScanned(), counts.getBudgetsUpdated(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    // Elapsed time is filled in by the caller, after the commit
+    private BudgetReloadResult recountAllBudgets() {
+        budgetCache.invalidateAll(); // reload also picks up budgets changed directly in the database
+        // Queued changes whose transactions the SUM below already counts; read first, so under MySQL's REPEATABLE READ
+        // the SUM sees exactly these (events committed later stay queued, their transactions aren't in the snapshot)
+        List<Long> pendingEvents = asyncUpdates ? outboxRepository.findPendingIds() : List.of();
+
+        Map<Long, BigDecimal> totalExpenses = new HashMap<>();
+        budgetRepository.sumAmountPerBudgetWindow(TransactionType.EXPENSE)
+                .forEach(total -> totalExpenses.put(total.getBudgetId(), total.getTotal()));
+
         List<Budget> allBudgets = getAllBudgetsWithoutPagination();
-        allBudgets.forEach(budget -> {
-            updateRemainingAmount(budget);
-            saveBudget(budget);
-                }); //applies the updateRemainingAmount method to every budget in the allBudgets list and persist the updated budget
+        int updated = 0;
+        for (Budget budget : allBudgets) {
+            BigDecimal previousRemaining = budget.getRemainingAmount();
+            String previousRemark = budget.getRemark();
+
+            budget.setRemainingAmount(budget.getBudgetLimit().subtract(totalExpenses.getOrDefault(budget.getId(), BigDecimal.ZERO)));
+            updateBudgetRemark(budget);
+
+            // Managed entities are dirty-checked, so only budgets that really changed are written back
+            if (previousRemaining == null || previousRemaining.compareTo(budget.getRemainingAmount()) != 0
+                    || !budget.getRemark().equals(previousRemark)) {
+                updated++;
+            }
+        }
+        outboxRepository.deleteAllByIdInBatch(pendingEvents);
+        return new BudgetReloadResult(allBudgets.size(), updated, 0);
     }
 
     // Update budget when transaction is saved
+    // The balance is changed with a single UPDATE ... SET remaining = remaining - amount, so parallel writers never overwrite each other
+    @Transactional
     public void updateBudgetForTransaction(Transaction transaction) {
         if (transaction.getType() == TransactionType.EXPENSE) { // Check if the transaction is an expense
-            Budget budget = getBudgetByCategory(transaction.getCategory()); // Get the budget for the same category
-            budget.setRemainingAmount(budget.getRemainingAmount().subtract(transaction.getAmount())); // Update the remaining amount in the budget
-            saveBudget(budget); //save after updating budget
+            BudgetCache.CachedBudget budget = getCachedBudget(transaction.getCategory()); // Get the budget for the same category (no query once cached)
+            if (!isWithinBudgetWindow(budget, transaction.getTransactionDate())) {
+                return; // expenses outside the budget period don't count against it
+            }
+            adjustRemainingAmount(budget.getId(), transaction.getAmount().negate()); // Subtract the amount from the remaining amount in the database
+        }
+    }
+
+    // Update budgets for a whole batch of saved transactions: expenses are netted per budget and each budget gets a single atomic update.
+    // The netting adds long minor units per category, so a large batch doesn't allocate a BigDecimal per row
+    @Transactional
+    public void updateBudgetsForTransactions(List<Transaction> transactions) {
+        BudgetCache.CachedBudget[] budgets = new BudgetCache.CachedBudget[CATEGORIES.length];
+        long[] deltas = new long[CATEGORIES.length];
+        for (Transaction transaction : transactions) {
+            if (transaction.getType() != TransactionType.EXPENSE) {
+                continue;
+            }
+            int category = transaction.getCategory().ordinal();
+            if (budgets[category] == null) {
+                budgets[category] = getCachedBudget(transaction.getCategory());
+            }
+            if (isWithinBudgetWindow(budgets[category], transaction.getTransactionDate())) {
+                deltas[category] = Math.subtractExact(deltas[category], Money.toMinorUnits(transaction.getAmount()));
+            }
+        }
+        for (int category = 0; category < CATEGORIES.length; category++) {
+            if (deltas[category] != 0) {
+                adjustRemainingAmount(budgets[category].getId(), Money.fromMinorUnits(deltas[category]));
+            }
         }
     }
 
     // Reverse the budget update when a transaction is deleted
+    @Transactional
     public void reverseBudgetForTransaction(Transaction transaction) {
         if (transaction.getType() == TransactionType.EXPENSE) {
-            Budget budget = getBudgetByCategory(transaction.getCategory());
-            budget.setRemainingAmount(budget.getRemainingAmount().add(transaction.getAmount())); // Add the transaction amount back to the remaining amount
-            saveBudget(budget); //Save after reversing
+            BudgetCache.CachedBudget budget = getCachedBudget(transaction.getCategory());
+            if (!isWithinBudgetWindow(budget, transaction.getTransactionDate())) {
+                return; // it was never counted against this budget
+            }
+            adjustRemainingAmount(budget.getId(), transaction.getAmount()); // Add the transaction amount back to the remaining amount
         }
     }
 
-    private void updateBudgetRemark(Budget budget) {
-        BigDecimal remaining = budget.getRemainingAmount();
-        BigDecimal budgetLimit = budget.getBudgetLimit();
+    // Expenses can only be saved in a category that has a budget (see getCachedBudget)
+    public boolean hasBudget(CategoryType category) {
+        return budgetCache.get(category).isPresent();
+    }
 
-        if (remaining.compareTo(BigDecimal.ZERO) < 0) {
-            budget.setRemark("Overspent"); // Budget exceeded
-        } else if (remaining.compareTo(budgetLimit) < 0) {
-            budget.setRemark("Within Limit"); // Budget is within the allocated limit
+    public BudgetCacheStats getBudgetCacheStats() {
+        return budgetCache.stats();
+    }
+
+    // Synchronous mode updates the budget row right away. Async mode inserts an outbox row in the caller's transaction instead,
+    // so the write no longer waits on (or contends for) the budget row; BudgetOutboxWorker nets the queued rows per budget
+    // and applies them a moment later. Budget checks (missing budget, window) still happen here, before anything is queued.
+    private void adjustRemainingAmount(Long budgetId, BigDecimal delta) {
+        if (asyncUpdates) {
+            outboxRepository.save(new BudgetOutboxEvent(budgetId, delta));
         } else {
-            budget.setRemark("Budget Intact"); // No spending, full budget remains
+            budgetRepository.addToRemainingAmount(budgetId, delta);
+        }
+    }
+
+    // Recounts write whole Budget entities, versioned by changeVersion. An addToRemainingAmount committed after the recount
+    // read the row makes the write fail instead of overwriting that delta, and the recount starts over in a new transaction
+    private <T> T recount(Supplier<T> work) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> work.get());
+            } catch (OptimisticLockingFailureException e) {
+                if (attempt == RECOUNT_ATTEMPTS) {
+                    throw e;
+                }
+            }
         }
     }
+
+    private BudgetCache.CachedBudget getCachedBudget(CategoryType category) {
+        return budgetCache.get(category)
+                .orElseThrow(() -> new IllegalArgumentException("Budget not found for category: " + category));
+    }
+
+    // Same rule as sumAmountPerBudgetWindow: null dates leave the window open on that side, undated transactions only count for open budgets
+    private boolean isWithinBudgetWindow(BudgetCache.CachedBudget budget, Date date) {
+        if (date == null) {
+            return budget.getStartDate() == null && budget.getEndDate() == null;
+        }
+        return (budget.getStartDate() == null || date.getTime() >= budget.getStartDate().getTime())
+                && (budget.getEndDate() == null || date.getTime() <= budget.getEndDate().getTime());
+    }
+
+    // Overspent when below zero, Within Limit when below the limit, otherwise Budget Intact (see Money.budgetRemark)
+    private void updateBudgetRemark(Budget budget) {
+        budget.setRemark(Money.budgetRemark(Money.toMinorUnits(budget.getRemainingAmount()), Money.toMinorUnits(budget.getBudgetLimit())));
+    }
 }
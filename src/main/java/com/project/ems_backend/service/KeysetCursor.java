@@ -0,0 +1,91 @@
+package com.project.ems_backend.service;
+
+import com.project.ems_backend.model.CursorSlice;
+import org.springframework.beans.BeanUtils;
+import org.springframework.core.convert.support.DefaultConversionService;
+import org.springframework.data.domain.*;
+
+import java.beans.PropertyDescriptor;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+// Opaque "after" tokens for keyset (seek) pagination: the sort key values of the last row, base64url encoded.
+// The next slice starts with WHERE (sortBy, id) > (last values) instead of an OFFSET, so every slice costs the same.
+// Only columns without NULLs can be sort keys: the keyset predicate compares with "> null", which matches no row,
+// so a slice ending on a NULL value would end the scroll there.
+public final class KeysetCursor {
+
+    private KeysetCursor() {
+    }
+
+    // The sort of a keyset listing, limited to the entity's properties that never hold NULL
+    public static Sort sort(String sortBy, Set<String> nonNullProperties) {
+        if (!nonNullProperties.contains(sortBy)) {
+            throw new IllegalArgumentException("Cannot scroll by " + sortBy + ", use one of " + nonNullProperties);
+        }
+        return Sort.by(sortBy);
+    }
+
+    public static String encode(KeysetScrollPosition position) {
+        StringJoiner joiner = new StringJoiner("&");
+        position.getKeys().forEach((name, value) -> joiner.add(name + "=" + encodeValue(value)));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(joiner.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    // Rebuilds the typed key values for entityType; the token has to come from a slice with the same sort
+    public static KeysetScrollPosition decode(String token, Class<?> entityType, Sort sort) {
+        Map<String, Object> keys = new LinkedHashMap<>();
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            for (String pair : decoded.split("&")) {
+                int separator = pair.indexOf('=');
+                String name = pair.substring(0, separator);
+                keys.put(name, decodeValue(pair.substring(separator + 1), propertyType(entityType, name)));
+            }
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + token, e);
+        }
+        for (Sort.Order order : sort) {
+            if (!keys.containsKey(order.getProperty())) {
+                throw new IllegalArgumentException("Cursor was not created for sortBy=" + order.getProperty());
+            }
+        }
+        return ScrollPosition.forward(keys);
+    }
+
+    public static <T> CursorSlice<T> slice(Window<T> window, Pageable pageable) {
+        String nextCursor = window.hasNext() && !window.isEmpty()
+                ? encode((KeysetScrollPosition) window.positionAt(window.size() - 1))
+                : null;
+        return new CursorSlice<>(window.getContent(), pageable, window.hasNext(), nextCursor);
+    }
+
+    private static String encodeValue(Object value) {
+        String text = value instanceof Date date ? String.valueOf(date.getTime())
+                : value instanceof Enum<?> constant ? constant.name()
+                : value.toString();
+        return URLEncoder.encode(text, StandardCharsets.UTF_8);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Object decodeValue(String encoded, Class<?> type) {
+        String text = URLDecoder.decode(encoded, StandardCharsets.UTF_8);
+        if (Date.class.isAssignableFrom(type)) {
+            return new Date(Long.parseLong(text));
+        }
+        if (type.isEnum()) {
+            return Enum.valueOf((Class<Enum>) type, text);
+        }
+        return DefaultConversionService.getSharedInstance().convert(text, type);
+    }
+
+    private static Class<?> propertyType(Class<?> entityType, String name) {
+        PropertyDescriptor descriptor = BeanUtils.getPropertyDescriptor(entityType, name);
+        if (descriptor == null) {
+            throw new IllegalArgumentException("Unknown property: " + name);
+        }
+        return descriptor.getPropertyType();
+    }
+}
@@ -0,0 +1,82 @@
+package com.project.ems_backend.service;
+
+import com.project.ems_backend.model.CursorSlice;
+import com.project.ems_backend.model.Transaction;
+import com.project.ems_backend.model.TransactionFilter;
+import com.project.ems_backend.model.TransactionView;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+// Non-blocking front of the transaction reads: the JPA calls still block, but on a bounded scheduler sized like the
+// connection pool instead of on request threads, so a waiting client costs a socket and a queued task, not a thread.
+// Same semantics as TransactionService; the stream walks the keyset slices of scrollTransactions on demand.
+@Service
+public class ReactiveTransactionService {
+
+    private final TransactionService transactionService;
+    private final Scheduler scheduler;
+
+    @Autowired
+    public ReactiveTransactionService(TransactionService transactionService,
+                                      @Value("${transactions.reactive.threads:${spring.datasource.hikari.maximum-pool-size:10}}") int threads,
+                                      @Value("${transactions.reactive.max-queued:100000}") int maxQueued) {
+        this.transactionService = transactionService;
+        this.scheduler = Schedulers.newBoundedElastic(threads, maxQueued, "transaction-reads");
+    }
+
+    public Mono<Page<TransactionView>> getFilteredTransactions(int page, int size, String sortBy, TransactionFilter filter) {
+        return onScheduler(() -> transactionService.getFilteredTransactions(page, size, sortBy, filter));
+    }
+
+    public Mono<Transaction> getTransactionById(long id) {
+        return onScheduler(() -> transactionService.getTransactionById(id));
+    }
+
+    // Reads batchSize rows at a time; the next slice is queried only once the subscriber has taken every row of the
+    // current one, so a slow reader holds back the queries instead of rows piling up in memory
+    public Flux<Transaction> streamTransactions(int batchSize, String sortBy, String description, String filterType) {
+        return Flux.defer(() -> {
+            AtomicReference<String> after = new AtomicReference<>();
+            AtomicBoolean lastSliceRead = new AtomicBoolean();
+            // Lazy placeholders, one per slice: concat subscribes to the next only after the previous completed,
+            // and only then does it run the query with the cursor the previous slice left behind
+            Flux<Flux<Transaction>> slices = Flux.generate(sink -> {
+                if (lastSliceRead.get()) {
+                    sink.complete();
+                    return;
+                }
+                sink.next(Flux.defer(() -> lastSliceRead.get() ? Flux.<Transaction>empty()
+                        : slice(batchSize, sortBy, after.get(), description, filterType).flatMapIterable(slice -> {
+                            after.set(slice.getNextCursor());
+                            lastSliceRead.set(slice.getNextCursor() == null);
+                            return slice.getContent();
+                        })));
+            });
+            return Flux.concat(slices);
+        });
+    }
+
+    @PreDestroy
+    public void close() {
+        scheduler.dispose();
+    }
+
+    private Mono<CursorSlice<Transaction>> slice(int size, String sortBy, String after, String description, String filterType) {
+        return onScheduler(() -> transactionService.scrollTransactions(size, sortBy, after, description, filterType));
+    }
+
+    private <T> Mono<T> onScheduler(Callable<T> call) {
+        return Mono.fromCallable(call).subscribeOn(scheduler);
+    }
+}
@@ -0,0 +1,21 @@
+package com.project.ems_backend.service;
+
+import com.project.ems_backend.model.TransactionView;
+import org.springframework.data.domain.Page;
+
+import java.util.function.Predicate;
+
+// Optional second tier of TransactionQueryCache, shared by all instances (e.g. a Redis hash of serialized pages).
+// No implementation is configured by default; declaring a bean of this type turns the tier on. Implementations should
+// expire entries too: a page read on one instance while another evicts it can still be put afterwards.
+public interface SharedTransactionPageCache {
+
+    // null when the page isn't cached
+    Page<TransactionView> get(TransactionQueryCache.Key key);
+
+    void put(TransactionQueryCache.Key key, Page<TransactionView> page);
+
+    void evictIf(Predicate<TransactionQueryCache.Key> affected);
+
+    void clear();
+}
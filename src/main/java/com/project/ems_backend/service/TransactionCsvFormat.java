@@ -0,0 +1,72 @@
+package com.project.ems_backend.service;
+
+import com.project.ems_backend.model.Transaction;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// CSV layout shared by the transaction import and export: one transaction per line, RFC 4180 style quoting
+public final class TransactionCsvFormat {
+
+    public static final String[] COLUMNS = {"amount", "type", "category", "description", "transactionDate"};
+
+    private TransactionCsvFormat() {
+    }
+
+    // Splits one CSV line into fields; quoted fields may contain commas and doubled quotes ("")
+    public static List<String> parseLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quoted field");
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    public static String header() {
+        return String.join(",", COLUMNS);
+    }
+
+    // Writes the transaction in COLUMNS order (dates as yyyy-MM-dd), readable again by the import
+    public static void appendRow(StringBuilder out, Transaction transaction) {
+        out.append(transaction.getAmount() == null ? "" : transaction.getAmount().toPlainString()).append(',')
+                .append(transaction.getType() == null ? "" : transaction.getType().name()).append(',')
+                .append(transaction.getCategory() == null ? "" : transaction.getCategory().name()).append(',')
+                .append(quote(transaction.getDescription())).append(',')
+                .append(transaction.getTransactionDate() == null ? "" : new java.sql.Date(transaction.getTransactionDate().getTime()).toString());
+    }
+
+    // Quotes only when needed; line breaks are flattened because the import reads one row per line
+    private static String quote(String value) {
+        if (value == null) {
+            return "";
+        }
+        String singleLine = value.replace('\r', ' ').replace('\n', ' ');
+        if (singleLine.indexOf(',') < 0 && singleLine.indexOf('"') < 0) {
+            return singleLine;
+        }
+        return '"' + singleLine.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,74 @@
+package com.project.ems_backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.ems_backend.model.Transaction;
+import com.project.ems_backend.repository.TransactionRepository;
+import jakarta.persistence.EntityManager;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+// Writes every transaction straight to an output stream (CSV or NDJSON) while reading them through a database cursor,
+// so neither the result set nor the response body is ever held in memory as a whole
+@Service
+public class TransactionExportService {
+
+    private static final int CLEAR_INTERVAL = 1000; // detach processed entities every this many rows
+
+    private final TransactionRepository transactionRepository;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+
+    @Autowired
+    public TransactionExportService(TransactionRepository transactionRepository, EntityManager entityManager, ObjectMapper objectMapper) {
+        this.transactionRepository = transactionRepository;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+    }
+
+    // Returns the number of exported rows; the transaction keeps the cursor open while the stream is consumed
+    @Transactional(readOnly = true)
+    public long exportTransactions(OutputStream output, String format) throws IOException {
+        boolean csv = "csv".equalsIgnoreCase(format);
+        if (!csv && !"ndjson".equalsIgnoreCase(format)) {
+            throw new IllegalArgumentException("Unsupported export format: " + format);
+        }
+
+        Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+        StringBuilder line = new StringBuilder(128);
+        if (csv) {
+            writer.write(TransactionCsvFormat.header());
+            writer.write('\n');
+        }
+
+        long rows = 0;
+        entityManager.unwrap(Session.class).setCacheMode(CacheMode.IGNORE); // see streamAllByOrderByIdAsc
+        try (Stream<Transaction> transactions = transactionRepository.streamAllByOrderByIdAsc()) {
+            Iterator<Transaction> iterator = transactions.iterator();
+            while (iterator.hasNext()) {
+                Transaction transaction = iterator.next();
+                if (csv) {
+                    line.setLength(0);
+                    TransactionCsvFormat.appendRow(line, transaction);
+                    writer.append(line);
+                } else {
+                    writer.write(objectMapper.writeValueAsString(transaction));
+                }
+                writer.write('\n');
+
+                if (++rows % CLEAR_INTERVAL == 0) {
+                    entityManager.clear(); // keep the persistence context from growing with the table
+                }
+            }
+        }
+        writer.flush();
+        return rows;
+    }
+}
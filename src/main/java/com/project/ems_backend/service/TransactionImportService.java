@@ -0,0 +1,232 @@
+package com.project.ems_backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.ems_backend.model.CategoryType;
+import com.project.ems_backend.model.ImportResult;
+import com.project.ems_backend.model.Money;
+import com.project.ems_backend.model.Transaction;
+import com.project.ems_backend.model.TransactionType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.*;
+
+// Streams CSV or NDJSON bank exports into the database: the body is read line by line and saved in fixed-size chunks,
+// each chunk in its own database transaction, so memory use depends on the chunk size and not on the file size
+@Service
+public class TransactionImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(TransactionImportService.class);
+
+    private final TransactionService transactionService;
+    private final BudgetService budgetService;
+    private final ObjectMapper objectMapper;
+    private final int chunkSize;
+    private final int maxErrors;
+
+    @Autowired
+    public TransactionImportService(TransactionService transactionService, BudgetService budgetService, ObjectMapper objectMapper,
+                                    @Value("${transactions.import.chunk-size:1000}") int chunkSize,
+                                    @Value("${transactions.import.max-errors:100}") int maxErrors) {
+        this.transactionService = transactionService;
+        this.budgetService = budgetService;
+        this.objectMapper = objectMapper;
+        this.chunkSize = chunkSize;
+        this.maxErrors = maxErrors;
+    }
+
+    public ImportResult importCsv(InputStream input) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        ImportResult result = new ImportResult(maxErrors);
+        long start = System.nanoTime();
+
+        String firstLine = reader.readLine();
+        if (firstLine == null) {
+            result.finish(0);
+            return result;
+        }
+
+        // A header row picks the column order; without one the default order is assumed
+        Map<String, Integer> columns = columnIndexes(TransactionCsvFormat.parseLine(firstLine));
+        long lineNumber = 1;
+        Chunk chunk = new Chunk();
+        if (columns == null) {
+            columns = columnIndexes(Arrays.asList(TransactionCsvFormat.COLUMNS));
+            addRow(chunk, result, lineNumber, firstLine, columns);
+        }
+
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (!line.isBlank()) {
+                addRow(chunk, result, lineNumber, line, columns);
+            }
+            if (chunk.size() >= chunkSize) {
+                commit(chunk, result);
+            }
+        }
+        commit(chunk, result);
+
+        result.finish((System.nanoTime() - start) / 1_000_000);
+        return result;
+    }
+
+    public ImportResult importNdjson(InputStream input) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        ImportResult result = new ImportResult(maxErrors);
+        long start = System.nanoTime();
+
+        Chunk chunk = new Chunk();
+        long lineNumber = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            result.rowRead();
+            try {
+                Transaction transaction = objectMapper.readValue(line, Transaction.class);
+                transaction.setId(null); // imported rows are always new
+                chunk.add(lineNumber, validate(resolveType(transaction)));
+            } catch (Exception e) {
+                result.rowFailed(lineNumber, e.getMessage());
+            }
+            if (chunk.size() >= chunkSize) {
+                commit(chunk, result);
+            }
+        }
+        commit(chunk, result);
+
+        result.finish((System.nanoTime() - start) / 1_000_000);
+        return result;
+    }
+
+    private void addRow(Chunk chunk, ImportResult result, long lineNumber, String line, Map<String, Integer> columns) {
+        result.rowRead();
+        try {
+            chunk.add(lineNumber, validate(toTransaction(TransactionCsvFormat.parseLine(line), columns)));
+        } catch (Exception e) {
+            result.rowFailed(lineNumber, e.getMessage());
+        }
+    }
+
+    // Saves the buffered rows as one bulk insert; if the chunk is rejected every row in it is reported as failed
+    private void commit(Chunk chunk, ImportResult result) {
+        if (chunk.size() == 0) {
+            return;
+        }
+        try {
+            transactionService.saveAllTransactions(chunk.transactions);
+            result.chunkCommitted(chunk.size());
+            if (result.getChunksCommitted() % 100 == 0) {
+                log.info("Transaction import: {} rows read, {} imported, {} failed", result.getRowsRead(), result.getRowsImported(), result.getRowsFailed());
+            }
+        } catch (Exception e) {
+            chunk.lineNumbers.forEach(lineNumber -> result.rowFailed(lineNumber, "Chunk rejected: " + e.getMessage()));
+        }
+        chunk.clear();
+    }
+
+    private Transaction toTransaction(List<String> fields, Map<String, Integer> columns) {
+        Transaction transaction = new Transaction();
+        transaction.setAmount(new BigDecimal(required(fields, columns, "amount")));
+        transaction.setCategory(CategoryType.valueOf(required(fields, columns, "category").toUpperCase(Locale.ROOT)));
+
+        String type = field(fields, columns, "type");
+        if (!type.isEmpty()) {
+            transaction.setType(TransactionType.valueOf(type.toUpperCase(Locale.ROOT)));
+        }
+        transaction.setDescription(field(fields, columns, "description"));
+
+        String date = field(fields, columns, "transactionDate");
+        if (!date.isEmpty()) {
+            transaction.setTransactionDate(Date.from(LocalDate.parse(date).atStartOfDay(ZoneId.systemDefault()).toInstant()));
+        }
+        return resolveType(transaction);
+    }
+
+    // The category already implies income or expense, so the type column is optional but must agree when present
+    private Transaction resolveType(Transaction transaction) {
+        if (transaction.getAmount() == null || transaction.getCategory() == null) {
+            throw new IllegalArgumentException("amount and category are required");
+        }
+        TransactionType categoryType = transaction.getCategory().getType();
+        if (transaction.getType() == null) {
+            transaction.setType(categoryType);
+        } else if (transaction.getType() != categoryType) {
+            throw new IllegalArgumentException("Category " + transaction.getCategory() + " is not of type " + transaction.getType());
+        }
+        return transaction;
+    }
+
+    // Rows saveAllTransactions would reject are failed here, one at a time, so they don't take the rest of their chunk with them
+    private Transaction validate(Transaction transaction) {
+        if (!Money.isMinorUnits(transaction.getAmount())) { // rejected rather than rounded by the two-decimal DECIMAL column
+            throw new IllegalArgumentException("Amount must have at most " + Money.SCALE + " decimal places");
+        }
+        if (transaction.getType() == TransactionType.EXPENSE && !budgetService.hasBudget(transaction.getCategory())) {
+            throw new IllegalArgumentException("Budget not found for category: " + transaction.getCategory());
+        }
+        return transaction;
+    }
+
+    // Maps header names to positions, or returns null when the line is not a header
+    private static Map<String, Integer> columnIndexes(List<String> header) {
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            String name = header.get(i).trim();
+            for (String column : TransactionCsvFormat.COLUMNS) {
+                if (column.equalsIgnoreCase(name)) {
+                    columns.put(column, i);
+                }
+            }
+        }
+        return columns.containsKey("amount") && columns.containsKey("category") ? columns : null;
+    }
+
+    private static String field(List<String> fields, Map<String, Integer> columns, String column) {
+        Integer index = columns.get(column);
+        return index == null || index >= fields.size() ? "" : fields.get(index).trim();
+    }
+
+    private static String required(List<String> fields, Map<String, Integer> columns, String column) {
+        String value = field(fields, columns, column);
+        if (value.isEmpty()) {
+            throw new IllegalArgumentException("Missing " + column);
+        }
+        return value;
+    }
+
+    // Rows waiting for the next commit, with their line numbers for error reporting
+    private static class Chunk {
+        private List<Transaction> transactions = new ArrayList<>();
+        private List<Long> lineNumbers = new ArrayList<>();
+
+        void add(long lineNumber, Transaction transaction) {
+            lineNumbers.add(lineNumber);
+            transactions.add(transaction);
+        }
+
+        int size() {
+            return transactions.size();
+        }
+
+        // Starts fresh lists rather than clearing, the committed list belongs to the saved chunk now
+        void clear() {
+            transactions = new ArrayList<>(transactions.size());
+            lineNumbers = new ArrayList<>(lineNumbers.size());
+        }
+    }
+}
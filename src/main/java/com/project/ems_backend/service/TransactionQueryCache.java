@@ -0,0 +1,165 @@
+package com.project.ems_backend.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.project.ems_backend.model.TransactionFilter;
+import com.project.ems_backend.model.TransactionView;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+// Result pages of TransactionService.getFilteredTransactions, keyed on the normalized filter parameters.
+// First tier: a Caffeine cache in this instance (W-TinyLFU admission, bounded by max-size, entries expire after ttl).
+// Second tier: an optional SharedTransactionPageCache bean shared between instances, consulted on a local miss.
+// Writes evict after commit, and only the pages they can change: every page without an id or description condition, the
+// pages of the written id and the description filters that matched the row before or after the write. Writes on other instances don't reach the local
+// tier, so with several instances a page there can be up to ttl old.
+@Component
+public class TransactionQueryCache {
+
+    private final boolean enabled;
+    private final Cache<Key, Page<TransactionView>> local;
+    private final SharedTransactionPageCache shared;
+    private final AtomicLong generation = new AtomicLong(); // bumped by every eviction, see get
+    private final LongAdder localHits = new LongAdder();
+    private final LongAdder sharedHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    @Autowired
+    public TransactionQueryCache(ObjectProvider<SharedTransactionPageCache> shared,
+                                 @Value("${transactions.query-cache.enabled:true}") boolean enabled,
+                                 @Value("${transactions.query-cache.max-size:10000}") long maxSize,
+                                 @Value("${transactions.query-cache.ttl:PT30S}") Duration ttl) {
+        this.enabled = enabled;
+        this.local = Caffeine.newBuilder().maximumSize(maxSize).expireAfterWrite(ttl).recordStats().build();
+        this.shared = shared.getIfAvailable();
+    }
+
+    // page/size/sortBy plus the normalized filter (see TransactionFilter.normalized)
+    public record Key(int page, int size, String sortBy, TransactionFilter filter) {
+
+        public static Key of(int page, int size, String sortBy, TransactionFilter filter) {
+            return new Key(page, size, sortBy, filter.normalized());
+        }
+
+        // Could a row with this id and description be on this page? Errs towards yes: only the id and description
+        // conditions are checked (amount, type and category can only narrow the page further), LIKE wildcards in the term
+        // are not evaluated, and rows without a description count as matching the negated filters
+        boolean mayContain(Long transactionId, String transactionDescription) {
+            String description = filter.description();
+            String filterType = filter.filterType();
+            if (filter.id() != null) {
+                return filter.id().equals(transactionId);
+            }
+            if (description == null || description.contains("%") || description.contains("_")) {
+                return true;
+            }
+            if (transactionDescription == null) {
+                return filterType.startsWith("not");
+            }
+            String normalized = transactionDescription.toLowerCase(Locale.ROOT);
+            return switch (filterType) {
+                case "contains" -> normalized.contains(description);
+                case "startsWith" -> normalized.startsWith(description);
+                case "endsWith" -> normalized.endsWith(description);
+                case "equals" -> normalized.equals(description);
+                case "notEquals" -> !normalized.equals(description);
+                default -> !normalized.contains(description); // notContains
+            };
+        }
+    }
+
+    public record Stats(long localHits, long sharedHits, long misses, long size, long evictions) {
+
+        public double hitRatio() {
+            long requests = localHits + sharedHits + misses;
+            return requests == 0 ? 0 : (localHits + sharedHits) / (double) requests;
+        }
+    }
+
+    public Page<TransactionView> get(Key key, Supplier<Page<TransactionView>> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+        Page<TransactionView> cached = local.getIfPresent(key);
+        if (cached != null) {
+            localHits.increment();
+            return cached;
+        }
+        long generationBeforeLoad = generation.get();
+        cached = shared == null ? null : shared.get(key);
+        if (cached != null) {
+            sharedHits.increment();
+        } else {
+            misses.increment();
+            cached = loader.get();
+            if (shared != null) {
+                shared.put(key, cached);
+            }
+        }
+        // Put first, then check: an eviction that ran while the page was read either removes the entry afterwards
+        // or has bumped the generation, and then the possibly outdated page is dropped here
+        local.put(key, cached);
+        if (generation.get() != generationBeforeLoad) {
+            local.invalidate(key);
+        }
+        return cached;
+    }
+
+    // After a single-row write: the row's description, plus its old one when an update changed it (any of them may be null)
+    public void evictAfterCommit(Long id, String description, String... oldDescriptions) {
+        afterCommit(() -> evictIf(key -> key.mayContain(id, description)
+                || Arrays.stream(oldDescriptions).anyMatch(oldDescription -> key.mayContain(id, oldDescription))));
+    }
+
+    // After bulk writes, where matching every key against every row costs more than reloading
+    public void evictAllAfterCommit() {
+        afterCommit(this::invalidateAll);
+    }
+
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        local.invalidateAll();
+        if (shared != null) {
+            shared.clear();
+        }
+    }
+
+    public Stats stats() {
+        return new Stats(localHits.sum(), sharedHits.sum(), misses.sum(), local.estimatedSize(), local.stats().evictionCount());
+    }
+
+    private void evictIf(Predicate<Key> affected) {
+        generation.incrementAndGet();
+        local.asMap().keySet().removeIf(affected);
+        if (shared != null) {
+            shared.evictIf(affected);
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+}
@@ -0,0 +1,283 @@
+package com.project.ems_backend.service;
+
+import com.project.ems_backend.model.*;
+import com.project.ems_backend.repository.TransactionReportRow;
+import com.project.ems_backend.repository.TransactionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+// Reports computed from an in-memory TransactionReportSnapshot instead of SQL over the live table.
+// The snapshot is loaded on first use and reloaded in the background once it is older than reports.snapshot.max-age,
+// so reports may lag writes by up to that age (POST /api/reports/refresh reloads right away).
+// Background reloads run on the application task executor (virtual threads when spring.threads.virtual.enabled is set).
+@Service
+public class TransactionReportService {
+
+    private static final Logger log = LoggerFactory.getLogger(TransactionReportService.class);
+
+    private static final CategoryType[] CATEGORIES = CategoryType.values();
+    private static final int INCOME = TransactionType.INCOME.ordinal();
+    private static final int EXPENSE = TransactionType.EXPENSE.ordinal();
+
+    private final TransactionRepository transactionRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final TaskExecutor taskExecutor;
+    private final Duration maxAge;
+    private final int maxDescriptions;
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+    // Held while a snapshot loads. A lock rather than synchronized: the load reads the database, and a virtual thread
+    // blocking inside synchronized would pin its carrier thread for the whole query
+    private final ReentrantLock loadLock = new ReentrantLock();
+
+    private volatile TransactionReportSnapshot snapshot;
+
+    @Autowired
+    public TransactionReportService(TransactionRepository transactionRepository, PlatformTransactionManager transactionManager, TaskExecutor taskExecutor,
+                                    @Value("${reports.snapshot.max-age:PT1M}") Duration maxAge,
+                                    @Value("${reports.snapshot.max-descriptions:100000}") int maxDescriptions) {
+        this.transactionRepository = transactionRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.taskExecutor = taskExecutor;
+        this.maxAge = maxAge;
+        this.maxDescriptions = maxDescriptions;
+    }
+
+    // Count, total, average and amount percentiles per category
+    public List<CategoryReport> getCategoryReport(LocalDate from, LocalDate to, TransactionType type) {
+        TransactionReportSnapshot snapshot = currentSnapshot();
+        TransactionReportSnapshot.Filter filter = TransactionReportSnapshot.Filter.of(from, to, null, type);
+        int categories = CATEGORIES.length;
+
+        // Pass 1: count and sum per category
+        long[] totals = snapshot.scan(() -> new long[categories * 2], (accumulator, start, end) -> {
+            for (int row = start; row < end; row++) {
+                if (filter.matches(snapshot, row)) {
+                    int category = snapshot.category[row];
+                    accumulator[category]++;
+                    accumulator[categories + category] += snapshot.amountCents[row];
+                }
+            }
+        }, TransactionReportService::add);
+
+        // Pass 2: copy each category's amounts into its own array; every leaf reserves its slots up front
+        long[][] amounts = new long[categories][];
+        for (int category = 0; category < categories; category++) {
+            amounts[category] = new long[Math.toIntExact(totals[category])];
+        }
+        AtomicIntegerArray positions = new AtomicIntegerArray(categories);
+        snapshot.forEachRange((start, end) -> {
+            int[] counts = new int[categories];
+            for (int row = start; row < end; row++) {
+                if (filter.matches(snapshot, row)) {
+                    counts[snapshot.category[row]]++;
+                }
+            }
+            int[] next = new int[categories];
+            for (int category = 0; category < categories; category++) {
+                next[category] = counts[category] == 0 ? 0 : positions.getAndAdd(category, counts[category]);
+            }
+            for (int row = start; row < end; row++) {
+                if (filter.matches(snapshot, row)) {
+                    int category = snapshot.category[row];
+                    amounts[category][next[category]++] = snapshot.amountCents[row];
+                }
+            }
+        });
+
+        // Percentiles by quickselect, one category per worker
+        return IntStream.range(0, categories).parallel()
+                .filter(category -> totals[category] > 0)
+                .mapToObj(category -> {
+                    long count = totals[category];
+                    long total = totals[categories + category];
+                    long[] values = amounts[category];
+                    return new CategoryReport(CATEGORIES[category], count, Money.fromMinorUnits(total),
+                            Money.fromMinorUnits(total).divide(BigDecimal.valueOf(count), Money.SCALE, RoundingMode.HALF_UP),
+                            Money.fromMinorUnits(percentile(values, 0.50)),
+                            Money.fromMinorUnits(percentile(values, 0.90)),
+                            Money.fromMinorUnits(percentile(values, 0.99)));
+                })
+                .toList();
+    }
+
+    // Income versus expense over the range, and per day or month ("day"/"month"); undated rows only count in the overall totals
+    public CashFlowReport getCashFlow(LocalDate from, LocalDate to, String period) {
+        if (!"day".equals(period) && !"month".equals(period)) {
+            throw new IllegalArgumentException("Unsupported cash flow period: " + period);
+        }
+        TransactionReportSnapshot snapshot = currentSnapshot();
+        TransactionReportSnapshot.Filter filter = TransactionReportSnapshot.Filter.of(from, to, null, null);
+
+        // One bucket per period between the first and last dated day in range; days map to buckets through a lookup table
+        int firstDay = Math.max(snapshot.firstDay, filter.fromDay());
+        int lastDay = Math.min(snapshot.lastDay, filter.toDay());
+        List<String> labels = new ArrayList<>();
+        int[] bucketOfDay = new int[firstDay > lastDay ? 0 : lastDay - firstDay + 1];
+        for (int offset = 0; offset < bucketOfDay.length; offset++) {
+            LocalDate date = LocalDate.ofEpochDay(firstDay + (long) offset);
+            String label = "day".equals(period) ? date.toString() : String.format("%04d-%02d", date.getYear(), date.getMonthValue());
+            if (labels.isEmpty() || !labels.get(labels.size() - 1).equals(label)) {
+                labels.add(label);
+            }
+            bucketOfDay[offset] = labels.size() - 1;
+        }
+
+        int buckets = labels.size();
+        // [income, expense] overall, then [income, expense] per bucket
+        long[] sums = snapshot.scan(() -> new long[2 + buckets * 2], (accumulator, start, end) -> {
+            for (int row = start; row < end; row++) {
+                int type = snapshot.type[row];
+                if (!filter.matches(snapshot, row) | (type != INCOME & type != EXPENSE)) {
+                    continue;
+                }
+                int side = type == INCOME ? 0 : 1;
+                long cents = snapshot.amountCents[row];
+                accumulator[side] += cents;
+                int day = snapshot.epochDay[row];
+                if (day != TransactionReportSnapshot.NO_DATE) {
+                    accumulator[2 + bucketOfDay[day - firstDay] * 2 + side] += cents;
+                }
+            }
+        }, TransactionReportService::add);
+
+        List<CashFlowReport.Period> periods = new ArrayList<>();
+        for (int bucket = 0; bucket < buckets; bucket++) {
+            long income = sums[2 + bucket * 2];
+            long expense = sums[3 + bucket * 2];
+            if (income != 0 || expense != 0) {
+                periods.add(new CashFlowReport.Period(labels.get(bucket), Money.fromMinorUnits(income),
+                        Money.fromMinorUnits(expense), Money.fromMinorUnits(income - expense)));
+            }
+        }
+        return new CashFlowReport(Money.fromMinorUnits(sums[0]), Money.fromMinorUnits(sums[1]),
+                Money.fromMinorUnits(sums[0] - sums[1]), periods);
+    }
+
+    // Descriptions with the highest total in a category (descriptions beyond reports.snapshot.max-descriptions distinct values are not ranked)
+    public List<DescriptionTotal> getTopDescriptions(CategoryType category, LocalDate from, LocalDate to, int limit) {
+        TransactionReportSnapshot snapshot = currentSnapshot();
+        TransactionReportSnapshot.Filter filter = TransactionReportSnapshot.Filter.of(from, to, category, null);
+        int descriptions = snapshot.descriptions.length;
+
+        // [count, total] per dictionary id; few big leaves, since every leaf allocates the full array
+        long[] sums = snapshot.scan(() -> new long[descriptions * 2], (accumulator, start, end) -> {
+            for (int row = start; row < end; row++) {
+                int description = snapshot.descriptionId[row];
+                if (description != TransactionReportSnapshot.OTHER_DESCRIPTION && filter.matches(snapshot, row)) {
+                    accumulator[description * 2]++;
+                    accumulator[description * 2 + 1] += snapshot.amountCents[row];
+                }
+            }
+        }, TransactionReportService::add, snapshot.coarseLeafRows());
+
+        // Keep the best `limit` ids in a min-heap on total
+        PriorityQueue<Integer> top = new PriorityQueue<>(Comparator.comparingLong(id -> sums[id * 2 + 1]));
+        for (int id = 0; id < descriptions && limit > 0; id++) {
+            if (sums[id * 2] == 0) {
+                continue;
+            }
+            top.add(id);
+            if (top.size() > limit) {
+                top.poll();
+            }
+        }
+        List<DescriptionTotal> result = new ArrayList<>(top.size());
+        while (!top.isEmpty()) {
+            int id = top.poll();
+            result.add(new DescriptionTotal(snapshot.descriptions[id], sums[id * 2], Money.fromMinorUnits(sums[id * 2 + 1])));
+        }
+        Collections.reverse(result);
+        return result;
+    }
+
+    public ReportSnapshotInfo refresh() {
+        loadLock.lock();
+        try {
+            snapshot = load();
+            return info(snapshot);
+        } finally {
+            loadLock.unlock();
+        }
+    }
+
+    private TransactionReportSnapshot currentSnapshot() {
+        TransactionReportSnapshot current = snapshot;
+        if (current == null) {
+            loadLock.lock();
+            try {
+                if (snapshot == null) {
+                    snapshot = load();
+                }
+                return snapshot;
+            } finally {
+                loadLock.unlock();
+            }
+        }
+        if (Duration.between(current.builtAt, Instant.now()).compareTo(maxAge) > 0 && refreshing.compareAndSet(false, true)) {
+            // Stale: answer from the old snapshot, reload in the background
+            taskExecutor.execute(() -> {
+                try {
+                    refresh();
+                } catch (Exception e) {
+                    log.warn("Could not reload the report snapshot", e);
+                } finally {
+                    refreshing.set(false);
+                }
+            });
+        }
+        return current;
+    }
+
+    private TransactionReportSnapshot load() {
+        TransactionReportSnapshot loaded = readOnlyTransaction.execute(status -> {
+            TransactionReportSnapshot.Builder builder = new TransactionReportSnapshot.Builder(
+                    Math.toIntExact(transactionRepository.count()), maxDescriptions);
+            try (Stream<TransactionReportRow> rows = transactionRepository.streamReportRows()) {
+                // Rows without an amount, category or type have no column value to hold and are left out of every report
+                rows.filter(row -> row.getAmount() != null && row.getCategory() != null && row.getType() != null)
+                        .forEach(row -> builder.add(Money.toMinorUnits(row.getAmount()), row.getCategory(), row.getType(),
+                                row.getTransactionDate() == null ? null : new java.sql.Date(row.getTransactionDate().getTime()).toLocalDate(),
+                                row.getDescription()));
+            }
+            return builder.build();
+        });
+        log.info("Report snapshot loaded with {} rows in {} ms", loaded.size, loaded.buildMillis);
+        return loaded;
+    }
+
+    private static ReportSnapshotInfo info(TransactionReportSnapshot snapshot) {
+        return new ReportSnapshotInfo(snapshot.size, snapshot.builtAt, snapshot.buildMillis);
+    }
+
+    // Nearest-rank percentile
+    private static long percentile(long[] values, double fraction) {
+        int rank = (int) Math.ceil(fraction * values.length);
+        return TransactionReportSnapshot.select(values, Math.max(rank, 1) - 1);
+    }
+
+    private static long[] add(long[] left, long[] right) {
+        for (int i = 0; i < left.length; i++) {
+            left[i] += right[i];
+        }
+        return left;
+    }
+}
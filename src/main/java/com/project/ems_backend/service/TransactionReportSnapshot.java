@@ -0,0 +1,261 @@
+package com.project.ems_backend.service;
+
+import com.project.ems_backend.model.CategoryType;
+import com.project.ems_backend.model.TransactionType;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.BinaryOperator;
+import java.util.function.Supplier;
+
+// Column-per-field copy of the transaction table for reporting: amounts as long cents, enums as ordinals,
+// dates as epoch days and descriptions dictionary-encoded. Nothing is boxed, so a scan is a tight loop over arrays,
+// and the snapshot never changes once built, so fork-join workers can read it without locking.
+final class TransactionReportSnapshot {
+
+    static final int NO_DATE = Integer.MIN_VALUE;
+    static final int OTHER_DESCRIPTION = -1; // descriptions past the dictionary limit, left out of top-N
+    static final int ANY = -1; // category/type filter that matches everything
+
+    private static final int LEAF_ROWS = 1 << 16;
+
+    final int size;
+    final long[] amountCents;
+    final byte[] category;
+    final byte[] type;
+    final int[] epochDay;
+    final int[] descriptionId;
+    final String[] descriptions;
+    final int firstDay; // earliest and latest dated row, first > last when there are none
+    final int lastDay;
+    final Instant builtAt;
+    final long buildMillis;
+
+    private TransactionReportSnapshot(Builder builder, long buildMillis) {
+        this.size = builder.size;
+        // Trimmed only when the row count estimate was off, a copy briefly doubles the memory of a column
+        this.amountCents = builder.amountCents.length == size ? builder.amountCents : Arrays.copyOf(builder.amountCents, size);
+        this.category = builder.category.length == size ? builder.category : Arrays.copyOf(builder.category, size);
+        this.type = builder.type.length == size ? builder.type : Arrays.copyOf(builder.type, size);
+        this.epochDay = builder.epochDay.length == size ? builder.epochDay : Arrays.copyOf(builder.epochDay, size);
+        this.descriptionId = builder.descriptionId.length == size ? builder.descriptionId : Arrays.copyOf(builder.descriptionId, size);
+        this.descriptions = builder.dictionary.toArray(new String[0]);
+        this.firstDay = builder.firstDay;
+        this.lastDay = builder.lastDay;
+        this.builtAt = Instant.now();
+        this.buildMillis = buildMillis;
+    }
+
+    // Rows a report looks at: an inclusive epoch-day range plus optional category/type ordinals
+    record Filter(int fromDay, int toDay, int category, int type) {
+
+        static Filter of(LocalDate from, LocalDate to, CategoryType category, TransactionType type) {
+            return new Filter(from == null ? NO_DATE : (int) from.toEpochDay(), to == null ? Integer.MAX_VALUE : (int) to.toEpochDay(),
+                    category == null ? ANY : category.ordinal(), type == null ? ANY : type.ordinal());
+        }
+
+        // Non-short-circuit & on purpose: with randomly mixed rows the branches would mispredict, the plain ANDs compile branch-free
+        boolean matches(TransactionReportSnapshot snapshot, int row) {
+            int day = snapshot.epochDay[row];
+            return day >= fromDay & day <= toDay
+                    & (category == ANY | snapshot.category[row] == category)
+                    & (type == ANY | snapshot.type[row] == type);
+        }
+    }
+
+    interface RangeScanner<A> {
+        void scan(A accumulator, int from, int to);
+    }
+
+    interface RangeAction {
+        void run(int from, int to);
+    }
+
+    // Splits the rows into leaves, scans each leaf into its own accumulator and merges the results pairwise
+    <A> A scan(Supplier<A> identity, RangeScanner<A> scanner, BinaryOperator<A> merge) {
+        return scan(identity, scanner, merge, LEAF_ROWS);
+    }
+
+    // A bigger leaf size suits accumulators that are expensive to allocate and merge
+    <A> A scan(Supplier<A> identity, RangeScanner<A> scanner, BinaryOperator<A> merge, int leafRows) {
+        return ForkJoinPool.commonPool().invoke(new ScanTask<>(0, size, Math.max(leafRows, LEAF_ROWS), identity, scanner, merge));
+    }
+
+    void forEachRange(RangeAction action) {
+        ForkJoinPool.commonPool().invoke(new RangeTask(0, size, action));
+    }
+
+    // Leaf size that gives every worker a few leaves
+    int coarseLeafRows() {
+        return size / (ForkJoinPool.commonPool().getParallelism() * 4) + 1;
+    }
+
+    // k-th smallest value (0-based) by quickselect; reorders the array
+    static long select(long[] values, int k) {
+        int left = 0;
+        int right = values.length - 1;
+        while (left < right) {
+            int middle = (left + right) >>> 1;
+            // median of three as pivot
+            if (values[middle] < values[left]) swap(values, left, middle);
+            if (values[right] < values[left]) swap(values, left, right);
+            if (values[right] < values[middle]) swap(values, middle, right);
+            long pivot = values[middle];
+
+            int i = left;
+            int j = right;
+            while (i <= j) {
+                while (values[i] < pivot) i++;
+                while (values[j] > pivot) j--;
+                if (i <= j) {
+                    swap(values, i++, j--);
+                }
+            }
+            if (k <= j) {
+                right = j;
+            } else if (k >= i) {
+                left = i;
+            } else {
+                return values[k];
+            }
+        }
+        return values[k];
+    }
+
+    private static void swap(long[] values, int i, int j) {
+        long value = values[i];
+        values[i] = values[j];
+        values[j] = value;
+    }
+
+    private static class ScanTask<A> extends RecursiveTask<A> {
+        private final int from;
+        private final int to;
+        private final int leafRows;
+        private final Supplier<A> identity;
+        private final RangeScanner<A> scanner;
+        private final BinaryOperator<A> merge;
+
+        ScanTask(int from, int to, int leafRows, Supplier<A> identity, RangeScanner<A> scanner, BinaryOperator<A> merge) {
+            this.from = from;
+            this.to = to;
+            this.leafRows = leafRows;
+            this.identity = identity;
+            this.scanner = scanner;
+            this.merge = merge;
+        }
+
+        @Override
+        protected A compute() {
+            if (to - from <= leafRows) {
+                A accumulator = identity.get();
+                scanner.scan(accumulator, from, to);
+                return accumulator;
+            }
+            int middle = (from + to) >>> 1;
+            ScanTask<A> left = new ScanTask<>(from, middle, leafRows, identity, scanner, merge);
+            left.fork();
+            A right = new ScanTask<>(middle, to, leafRows, identity, scanner, merge).compute();
+            return merge.apply(left.join(), right);
+        }
+    }
+
+    private static class RangeTask extends RecursiveAction {
+        private final int from;
+        private final int to;
+        private final RangeAction action;
+
+        RangeTask(int from, int to, RangeAction action) {
+            this.from = from;
+            this.to = to;
+            this.action = action;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= LEAF_ROWS) {
+                action.run(from, to);
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new RangeTask(from, middle, action), new RangeTask(middle, to, action));
+        }
+    }
+
+    // Appends rows into growable primitive columns; not thread-safe
+    static class Builder {
+        private final int maxDescriptions;
+        private final Map<String, Integer> descriptionIds = new HashMap<>();
+        private final List<String> dictionary = new ArrayList<>();
+        private final long start = System.nanoTime();
+
+        private int size;
+        private int firstDay = Integer.MAX_VALUE;
+        private int lastDay = Integer.MIN_VALUE;
+        private long[] amountCents;
+        private byte[] category;
+        private byte[] type;
+        private int[] epochDay;
+        private int[] descriptionId;
+
+        Builder(int expectedRows, int maxDescriptions) {
+            int capacity = Math.max(expectedRows, 16); // at least the grow step's minimum
+            this.maxDescriptions = maxDescriptions;
+            this.amountCents = new long[capacity];
+            this.category = new byte[capacity];
+            this.type = new byte[capacity];
+            this.epochDay = new int[capacity];
+            this.descriptionId = new int[capacity];
+        }
+
+        Builder add(long cents, CategoryType categoryType, TransactionType transactionType, LocalDate date, String description) {
+            if (size == amountCents.length) {
+                grow();
+            }
+            amountCents[size] = cents;
+            category[size] = (byte) categoryType.ordinal();
+            type[size] = (byte) transactionType.ordinal();
+            epochDay[size] = date == null ? NO_DATE : (int) date.toEpochDay();
+            if (date != null) {
+                firstDay = Math.min(firstDay, epochDay[size]);
+                lastDay = Math.max(lastDay, epochDay[size]);
+            }
+            descriptionId[size] = descriptionId(description);
+            size++;
+            return this;
+        }
+
+        TransactionReportSnapshot build() {
+            return new TransactionReportSnapshot(this, (System.nanoTime() - start) / 1_000_000);
+        }
+
+        private int descriptionId(String description) {
+            if (description == null) {
+                return OTHER_DESCRIPTION;
+            }
+            Integer id = descriptionIds.get(description);
+            if (id == null) {
+                if (dictionary.size() >= maxDescriptions) {
+                    return OTHER_DESCRIPTION;
+                }
+                id = dictionary.size();
+                dictionary.add(description);
+                descriptionIds.put(description, id);
+            }
+            return id;
+        }
+
+        private void grow() {
+            int capacity = amountCents.length + (amountCents.length >> 1);
+            amountCents = Arrays.copyOf(amountCents, capacity);
+            category = Arrays.copyOf(category, capacity);
+            type = Arrays.copyOf(type, capacity);
+            epochDay = Arrays.copyOf(epochDay, capacity);
+            descriptionId = Arrays.copyOf(descriptionId, capacity);
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.project.ems_backend.service;
+
+import com.project.ems_backend.model.*;
+import com.project.ems_backend.repository.TransactionRepository;
+import com.project.ems_backend.repository.TransactionRollupRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.*;
+
+// Maintains the daily transaction_rollup rows and answers summary queries from them.
+// add/subtract are called by TransactionService inside the same database transaction as the transaction write,
+// so a rollup row and the rows it summarizes commit or roll back together.
+@Service
+public class TransactionRollupService {
+
+    private static final Logger log = LoggerFactory.getLogger(TransactionRollupService.class);
+
+    private final TransactionRollupRepository rollupRepository;
+    private final TransactionRepository transactionRepository;
+
+    @Autowired
+    public TransactionRollupService(TransactionRollupRepository rollupRepository, TransactionRepository transactionRepository) {
+        this.rollupRepository = rollupRepository;
+        this.transactionRepository = transactionRepository;
+    }
+
+    @Transactional
+    public void add(List<Transaction> transactions) {
+        apply(transactions, 1);
+    }
+
+    @Transactional
+    public void subtract(Transaction transaction) {
+        apply(List.of(transaction), -1);
+    }
+
+    // period is "day" or "month"; from/to are inclusive, category/type are optional filters
+    public List<RollupTotal> getRollups(String period, LocalDate from, LocalDate to, CategoryType category, TransactionType type) {
+        return switch (period) {
+            case "day" -> rollupRepository.findDaily(from, to, category, type).stream()
+                    .map(rollup -> new RollupTotal(rollup.getId().getRollupDate().toString(), rollup.getId().getCategory(),
+                            rollup.getId().getType(), rollup.getTotal(), rollup.getTransactionCount()))
+                    .toList();
+            case "month" -> rollupRepository.findMonthly(from, to, category, type).stream()
+                    .map(month -> new RollupTotal(String.format("%04d-%02d", month.getRollupYear(), month.getRollupMonth()),
+                            month.getCategory(), month.getType(), month.getTotal(), month.getTransactionCount()))
+                    .toList();
+            default -> throw new IllegalArgumentException("Unsupported rollup period: " + period);
+        };
+    }
+
+    // Recomputes the whole table from the transactions (after a restore, manual SQL, or to check for drift).
+    // Writes that commit while the rebuild runs may be counted twice or not at all, so run it when the API is quiet.
+    @Transactional
+    public RollupRebuildResult rebuild() {
+        long start = System.nanoTime();
+        rollupRepository.deleteAllRollups();
+        int rows = rollupRepository.insertRollupsFromTransactions();
+        return new RollupRebuildResult(rows, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    // Fills the table once for databases that had transactions before the rollup existed
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void rebuildIfEmpty() {
+        if (rollupRepository.count() == 0 && transactionRepository.count() > 0) {
+            RollupRebuildResult result = rebuild();
+            log.info("Transaction rollup built with {} rows in {} ms", result.getRowsWritten(), result.getElapsedMillis());
+        }
+    }
+
+    // Nets the transactions per day/category/type first, so a bulk insert touches each rollup row once
+    private void apply(List<Transaction> transactions, int sign) {
+        Map<TransactionRollupId, long[]> totals = new HashMap<>(); // [minor units, count] per row
+        for (Transaction transaction : transactions) {
+            if (transaction.getTransactionDate() == null || transaction.getCategory() == null || transaction.getType() == null) {
+                continue; // undated or unclassified rows have no rollup row to count against (see insertRollupsFromTransactions)
+            }
+            TransactionRollupId id = new TransactionRollupId(toLocalDate(transaction.getTransactionDate()), transaction.getCategory(), transaction.getType());
+            long[] total = totals.computeIfAbsent(id, key -> new long[2]);
+            total[0] = Math.addExact(total[0], sign * Money.toMinorUnits(transaction.getAmount()));
+            total[1] += sign;
+        }
+        totals.forEach((id, total) -> rollupRepository.addToRollup(id.getRollupDate(), id.getCategory().name(), id.getType().name(),
+                Money.fromMinorUnits(total[0]), total[1]));
+    }
+
+    // Entities loaded from the DATE column are java.sql.Date, new ones are java.util.Date; both end up as a local day
+    private static LocalDate toLocalDate(Date date) {
+        return new java.sql.Date(date.getTime()).toLocalDate();
+    }
+}
@@ -0,0 +1,268 @@
+package com.project.ems_backend.service;
+
+import com.project.ems_backend.model.Transaction;
+import com.project.ems_backend.repository.TransactionRepository;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.LowerCaseFilter;
+import org.apache.lucene.analysis.core.KeywordTokenizer;
+import org.apache.lucene.analysis.ngram.NGramTokenFilter;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.*;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.stream.Stream;
+
+// Embedded Lucene index of transaction descriptions, split into lower-cased 3-character grams.
+// A "contains" or "endsWith" search becomes a lookup of the term's grams, which narrows the candidates to a few ids;
+// the database then re-checks those rows with the original LIKE, and a term without hits needs no query at all.
+// Whenever the index can't vouch for every match (LIKE wildcards in the term, a rebuild in progress) the caller scans instead.
+// The index only sees writes made through this instance, so it is for single-instance deployments:
+// with several instances set transactions.search.enabled=false and every search scans.
+@Component
+public class TransactionSearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(TransactionSearchIndex.class);
+
+    public static final int GRAM_SIZE = 3;
+
+    private static final String ID = "id";
+    private static final String DESCRIPTION = "description";
+
+    private final TransactionRepository transactionRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate readOnlyTransaction;
+    private final boolean enabled;
+    private final int maxCandidates;
+    private final Directory directory;
+    private final IndexWriter writer;
+    private final SearcherManager searcherManager;
+
+    private volatile boolean ready; // false while the index is being (re)built, searches fall back to the database meanwhile
+
+    @Autowired
+    public TransactionSearchIndex(TransactionRepository transactionRepository, EntityManager entityManager, PlatformTransactionManager transactionManager,
+                                  @Value("${transactions.search.enabled:true}") boolean enabled,
+                                  @Value("${transactions.search.index-path:}") String indexPath,
+                                  @Value("${transactions.search.max-candidates:10000}") int maxCandidates) throws IOException {
+        this.transactionRepository = transactionRepository;
+        this.entityManager = entityManager;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.enabled = enabled;
+        this.maxCandidates = maxCandidates;
+        this.directory = indexPath.isBlank() ? new ByteBuffersDirectory() : FSDirectory.open(Path.of(indexPath));
+        this.writer = new IndexWriter(directory, new IndexWriterConfig(new GramAnalyzer()));
+        this.searcherManager = new SearcherManager(writer, null);
+    }
+
+    // Ids of the transactions whose description may contain the term (an empty list: none does), or empty when the index
+    // can't narrow the search (term shorter than one gram or holding a LIKE wildcard, too many candidates, index off or
+    // not ready) and the caller should scan instead
+    public Optional<List<Long>> findCandidateIds(String term) {
+        String lowerCaseTerm = term.toLowerCase(Locale.ROOT);
+        if (!enabled || !ready || lowerCaseTerm.length() < GRAM_SIZE) {
+            return Optional.empty();
+        }
+        if (lowerCaseTerm.indexOf('%') >= 0 || lowerCaseTerm.indexOf('_') >= 0) {
+            return Optional.empty(); // LIKE matches these as wildcards, the grams only literally
+        }
+
+        BooleanQuery.Builder query = new BooleanQuery.Builder();
+        for (String gram : grams(lowerCaseTerm)) {
+            query.add(new TermQuery(new Term(DESCRIPTION, gram)), BooleanClause.Occur.FILTER);
+        }
+
+        IndexSearcher searcher = null;
+        try {
+            searcher = searcherManager.acquire();
+            TopDocs hits = searcher.search(new ConstantScoreQuery(query.build()), maxCandidates + 1);
+            if (hits.scoreDocs.length > maxCandidates) {
+                return Optional.empty(); // not selective enough to beat a scan
+            }
+            StoredFields storedFields = searcher.storedFields();
+            List<Long> ids = new ArrayList<>(hits.scoreDocs.length);
+            for (ScoreDoc hit : hits.scoreDocs) {
+                ids.add(Long.valueOf(storedFields.document(hit.doc).get(ID)));
+            }
+            return Optional.of(ids);
+        } catch (IOException e) {
+            log.warn("Description search failed, falling back to a database scan", e);
+            return Optional.empty();
+        } finally {
+            release(searcher);
+        }
+    }
+
+    // Adds or replaces the documents once the surrounding database transaction has committed
+    public void indexAfterCommit(List<Transaction> transactions) {
+        afterCommit(() -> index(transactions));
+    }
+
+    public void removeAfterCommit(Long id) {
+        afterCommit(() -> remove(id));
+    }
+
+    public void index(List<Transaction> transactions) {
+        try {
+            for (Transaction transaction : transactions) {
+                writer.updateDocument(new Term(ID, transaction.getId().toString()), toDocument(transaction));
+            }
+            searcherManager.maybeRefresh();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public void remove(Long id) {
+        try {
+            writer.deleteDocuments(new Term(ID, id.toString()));
+            searcherManager.maybeRefresh();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public void markReady() {
+        ready = true;
+    }
+
+    // Rebuilds from the database in the background when the index doesn't match the table (new in-memory index, crash, restore)
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIfStale() {
+        if (!enabled) {
+            return;
+        }
+        Thread rebuild = new Thread(() -> {
+            try {
+                if (writer.getDocStats().numDocs != transactionRepository.count()) {
+                    rebuild();
+                }
+                markReady();
+            } catch (Exception e) {
+                log.error("Could not build the transaction search index, description searches will scan the table", e);
+            }
+        }, "transaction-search-index-rebuild");
+        rebuild.setDaemon(true);
+        rebuild.start();
+    }
+
+    public void rebuild() throws IOException {
+        long start = System.nanoTime();
+        writer.deleteAll();
+        long documents = readOnlyTransaction.execute(status -> {
+            long count = 0;
+            List<Transaction> batch = new ArrayList<>(1000);
+            entityManager.unwrap(Session.class).setCacheMode(CacheMode.IGNORE); // see streamAllByOrderByIdAsc
+            try (Stream<Transaction> transactions = transactionRepository.streamAllByOrderByIdAsc()) {
+                for (Iterator<Transaction> iterator = transactions.iterator(); iterator.hasNext(); ) {
+                    batch.add(iterator.next());
+                    if (batch.size() == 1000) {
+                        count += addAll(batch);
+                    }
+                }
+            }
+            return count + addAll(batch);
+        });
+        writer.commit();
+        searcherManager.maybeRefresh();
+        log.info("Transaction search index rebuilt with {} documents in {} ms", documents, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        searcherManager.close();
+        writer.close(); // commits pending changes
+        directory.close();
+    }
+
+    private long addAll(List<Transaction> batch) {
+        try {
+            for (Transaction transaction : batch) {
+                writer.addDocument(toDocument(transaction));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        int size = batch.size();
+        batch.clear();
+        return size;
+    }
+
+    private static Document toDocument(Transaction transaction) {
+        Document document = new Document();
+        document.add(new StringField(ID, transaction.getId().toString(), Field.Store.YES));
+        if (transaction.getDescription() != null) {
+            document.add(new TextField(DESCRIPTION, transaction.getDescription(), Field.Store.NO));
+        }
+        return document;
+    }
+
+    private static Set<String> grams(String term) {
+        Set<String> grams = new LinkedHashSet<>();
+        for (int i = 0; i + GRAM_SIZE <= term.length(); i++) {
+            grams.add(term.substring(i, i + GRAM_SIZE));
+        }
+        return grams;
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private void release(IndexSearcher searcher) {
+        if (searcher == null) {
+            return;
+        }
+        try {
+            searcherManager.release(searcher);
+        } catch (IOException e) {
+            log.warn("Could not release index searcher", e);
+        }
+    }
+
+    // Whole description, lower-cased, cut into overlapping 3-character grams ("lunch" -> lun, unc, nch)
+    private static class GramAnalyzer extends Analyzer {
+        @Override
+        protected TokenStreamComponents createComponents(String fieldName) {
+            KeywordTokenizer tokenizer = new KeywordTokenizer();
+            return new TokenStreamComponents(tokenizer, new NGramTokenFilter(new LowerCaseFilter(tokenizer), GRAM_SIZE, GRAM_SIZE, false));
+        }
+    }
+}
@@ -1,92 +1,170 @@
 package com.project.ems_backend.service;
 
+import com.project.ems_backend.model.CursorSlice;
 import com.project.ems_backend.model.Transaction;
+import com.project.ems_backend.model.TransactionFilter;
+import com.project.ems_backend.model.TransactionView;
 import com.project.ems_backend.repository.TransactionRepository;
+import com.project.ems_backend.repository.TransactionSpecifications;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.data.domain.*;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 
 @Service
 public class TransactionService {
 
+    // Keyset sort keys of scrollTransactions (see KeysetCursor): description and transactionDate may be NULL
+    private static final Set<String> SCROLL_SORT_KEYS = Set.of("id", "amount", "type", "category");
+
     private final TransactionRepository transactionRepository;
     private final BudgetService budgetService;
+    private final TransactionSearchIndex searchIndex;
+    private final TransactionRollupService rollupService;
+    private final TransactionQueryCache queryCache;
 
 
     @Autowired
-    public TransactionService(TransactionRepository transactionRepository, BudgetService budgetService) {
+    public TransactionService(TransactionRepository transactionRepository, BudgetService budgetService, TransactionSearchIndex searchIndex,
+                              TransactionRollupService rollupService, TransactionQueryCache queryCache) {
         this.transactionRepository = transactionRepository;
         this.budgetService = budgetService;
+        this.searchIndex = searchIndex;
+        this.rollupService = rollupService;
+        this.queryCache = queryCache;
     }
 
 
+    // Rows saved before descriptionNormalized existed get it filled in once at startup, otherwise the filters would miss them
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void backfillNormalizedDescriptions() {
+        transactionRepository.backfillDescriptionNormalized();
+    }
+
     //With pagination only
     public Page<Transaction> getAllTransactions(int page, int size, String sortBy) { // //Page is Spring Data interface that encapsulates pagination logic
         return transactionRepository.findAll(PageRequest.of(page, size, Sort.by(sortBy))); //PageRequest creates Pageable object, used by repository to fetch specific page of data with certain size and sorting
     }
 
-    public Page<Transaction> getFilteredTransactions(int page, int size, String sortBy, Long id, String description, String filterType) {
-        Pageable pageable = PageRequest.of(page, size, Sort.by(sortBy)); //Pagination object to define pagination and sorting behaviour
+    // Served from TransactionQueryCache when the same filter/page was read before and no write since could have changed it
+    public Page<TransactionView> getFilteredTransactions(int page, int size, String sortBy, TransactionFilter filter) {
+        TransactionQueryCache.Key key = TransactionQueryCache.Key.of(page, size, sortBy, filter);
+        return queryCache.get(key, () -> findFilteredTransactions(PageRequest.of(page, size, Sort.by(sortBy)), key.filter()));
+    }
 
-        if (id != null) {
-            Transaction transaction = transactionRepository.findById(id).orElse(null);
+    // One query for the whole filter, whatever mix of conditions it has, so clients get exactly the matching page.
+    // The rows come back as TransactionViews, not entities: nothing to hydrate, track or put in the second-level cache
+    private Page<TransactionView> findFilteredTransactions(Pageable pageable, TransactionFilter filter) {
+        if (filter.isIdLookup()) {
+            TransactionView transaction = transactionRepository.findById(filter.id()).map(TransactionView::of).orElse(null);
             return new PageImpl<>(transaction == null ? List.of() : List.of(transaction), pageable, 1); //if transaction is null, returns an empty list else returns a list with single transaction // 1 indicates that the total number of elements is 1
+        }
 
-        } else if (description != null ) {
-            return switch (filterType) {
-                case "contains" -> transactionRepository.findByDescriptionContaining(description, pageable);
-                case "startsWith" -> transactionRepository.findByDescriptionStartingWith(description, pageable);
-                case "endsWith" -> transactionRepository.findByDescriptionEndingWith(description, pageable);
-                case "equals" -> transactionRepository.findByDescriptionEquals(description, pageable);
-                case "notEquals" -> transactionRepository.findByDescriptionNotEquals(description, pageable);
-                case "notContains" -> transactionRepository.findByDescriptionNotContains(description, pageable);
-                default -> transactionRepository.findAll(pageable);
-            };
-        } else {
-            return transactionRepository.findAll(pageable);
+        Specification<Transaction> specification = TransactionSpecifications.matching(filter);
+        // Infix/suffix searches go through the n-gram index first and only scan when it can't narrow the candidates
+        boolean infix = "contains".equals(filter.filterType()) || "endsWith".equals(filter.filterType());
+        if (infix && filter.id() == null) {
+            Optional<List<Long>> candidateIds = searchIndex.findCandidateIds(filter.description());
+            if (candidateIds.isPresent() && candidateIds.get().isEmpty()) {
+                return Page.empty(pageable); // every write goes through the index, so no row holds the term
+            }
+            if (candidateIds.isPresent()) {
+                specification = specification.and(TransactionSpecifications.idIn(candidateIds.get()));
+            }
         }
+        return transactionRepository.findViews(specification, pageable);
     }
 
 
+    // Keyset mode of the listing: same description filters, but no COUNT query and no OFFSET, so deep slices cost the same as the first
+    public CursorSlice<Transaction> scrollTransactions(int size, String sortBy, String after, String description, String filterType) {
+        Sort sort = KeysetCursor.sort(sortBy, SCROLL_SORT_KEYS);
+        KeysetScrollPosition position = after == null ? ScrollPosition.keyset() : KeysetCursor.decode(after, Transaction.class, sort);
+
+        Window<Transaction> window = transactionRepository.findBy(TransactionSpecifications.description(description, filterType),
+                query -> query.sortBy(sort).limit(size).scroll(position));
+        return KeysetCursor.slice(window, PageRequest.of(0, size, sort));
+    }
+
     public Transaction getTransactionById(long id) {
         return transactionRepository.findById(id).orElseThrow(() -> new IllegalArgumentException("Transaction not found with id: " + id));
     }
 
+    // Update/delete reverse the row's budget effect, so they need the current row, not a second-level cache copy
+    private Transaction getTransactionForWrite(long id) {
+        return transactionRepository.findFreshById(id).orElseThrow(() -> new IllegalArgumentException("Transaction not found with id: " + id));
+    }
+
+    @Transactional // the row, its budget adjustment and its rollup row commit or roll back together
     public Transaction saveTransaction(Transaction transaction) {
         Transaction savedTransaction = transactionRepository.save(transaction);
 
         // Delegate to BudgetService to update the budget
         budgetService.updateBudgetForTransaction(savedTransaction);
+        rollupService.add(List.of(savedTransaction));
+        searchIndex.indexAfterCommit(List.of(savedTransaction));
+        queryCache.evictAfterCommit(savedTransaction.getId(), savedTransaction.getDescription());
         return savedTransaction;
     }
 
+    // Bulk insert: rows go out in JDBC batches (pooled sequence ids) and budgets are adjusted once per category for the whole batch
+    @Transactional
+    public List<Transaction> saveAllTransactions(List<Transaction> transactions) {
+        List<Transaction> savedTransactions = transactionRepository.saveAll(transactions);
+
+        budgetService.updateBudgetsForTransactions(savedTransactions);
+        rollupService.add(savedTransactions);
+        searchIndex.indexAfterCommit(savedTransactions);
+        queryCache.evictAllAfterCommit();
+        return savedTransactions;
+    }
+
+    @Transactional
     public void deleteTransaction(Long id) {
-        Transaction transactionToDelete = getTransactionById(id);
+        Transaction transactionToDelete = getTransactionForWrite(id);
 
         // Reverse the budget effect before deletion
         budgetService.reverseBudgetForTransaction(transactionToDelete);
+        rollupService.subtract(transactionToDelete);
 
         // Now delete the transaction
         transactionRepository.deleteById(id);
+        searchIndex.removeAfterCommit(id);
+        queryCache.evictAfterCommit(id, transactionToDelete.getDescription());
     }
 
+    @Transactional
     public Transaction updateTransaction(Long id, Transaction updatedTransaction) {
-        Transaction existingTransaction = getTransactionById(id);
+        Transaction existingTransaction = getTransactionForWrite(id);
+        String oldDescription = existingTransaction.getDescription(); // pages filtered on it have to go too
 
         // Reverse the original transaction's impact on the budget
         budgetService.reverseBudgetForTransaction(existingTransaction);
+        rollupService.subtract(existingTransaction); // taken out of its old day/category and added back below
 
         existingTransaction.setAmount(updatedTransaction.getAmount());
         existingTransaction.setCategory(updatedTransaction.getCategory());
         existingTransaction.setDescription(updatedTransaction.getDescription());
         existingTransaction.setType(updatedTransaction.getType());
+        if (updatedTransaction.getTransactionDate() != null) { // keep the original date when the client doesn't send one
+            existingTransaction.setTransactionDate(updatedTransaction.getTransactionDate());
+        }
 
         Transaction savedTransaction = transactionRepository.save(existingTransaction);
 
         // Update budget for the new transaction
         budgetService.updateBudgetForTransaction(savedTransaction);
+        rollupService.add(List.of(savedTransaction));
+        searchIndex.indexAfterCommit(List.of(savedTransaction));
+        queryCache.evictAfterCommit(id, savedTransaction.getDescription(), oldDescription);
 
         return savedTransaction;
     }
@@ -0,0 +1,199 @@
+package com.project.ems_backend.benchmark;
+
+import com.project.ems_backend.benchmark.LoadTestSupport.LatencyRecorder;
+import com.project.ems_backend.model.CategoryType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.ApplicationContext;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import static com.project.ems_backend.benchmark.LoadTestSupport.EXPENSE_CATEGORIES;
+import static com.project.ems_backend.benchmark.LoadTestSupport.WORDS;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// End-to-end load test: boots the whole application on a random port against the in-memory H2 stand-in, seeds it with
+// synthetic transactions and budgets, then sends a mixed read/write workload at a fixed rate and prints latency
+// percentiles and throughput per endpoint.
+// Only runs when asked for: mvn test -Dtest=ApiLoadBenchmarkTest -Dbenchmark=true -DargLine=-Xmx4g
+//   -Dload.rows=2000000      seeded transactions
+//   -Dload.rps=200           requests per second (open loop: requests are sent on schedule whether or not earlier ones finished)
+//   -Dload.seconds=60        measured duration, after -Dload.warmupSeconds=10 that are not recorded
+//   -Dload.writePercent=10   share of POST/PUT/DELETE requests
+//   -Dload.maxInFlight=1000  requests beyond this many outstanding are counted as dropped instead of queued
+// Latency is measured from the moment a request was due, so a stalled server shows up in the percentiles (no coordinated omission).
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class ApiLoadBenchmarkTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ApplicationContext context;
+
+    @Test
+    void mixedWorkload() throws Exception {
+        long rows = Long.getLong("load.rows", 2_000_000L);
+        int rps = Integer.getInteger("load.rps", 200);
+        int seconds = Integer.getInteger("load.seconds", 60);
+        int warmupSeconds = Integer.getInteger("load.warmupSeconds", 10);
+        int writePercent = Integer.getInteger("load.writePercent", 10);
+        int maxInFlight = Integer.getInteger("load.maxInFlight", 1000);
+
+        long seedStart = System.nanoTime();
+        LoadTestSupport.seed(context, rows);
+        System.out.printf("seeded %d transactions in %d s%n", rows, (System.nanoTime() - seedStart) / 1_000_000_000);
+
+        Workload workload = new Workload("http://localhost:" + port, rows, writePercent);
+        ExecutorService responseExecutor = Executors.newCachedThreadPool();
+        HttpClient client = HttpClient.newBuilder().executor(responseExecutor).connectTimeout(Duration.ofSeconds(5)).build();
+        Map<String, LatencyRecorder> recorders = new ConcurrentSkipListMap<>();
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicLong dropped = new AtomicLong();
+
+        long intervalNanos = 1_000_000_000L / rps;
+        long total = (long) rps * (warmupSeconds + seconds);
+        long start = System.nanoTime();
+        long measureFrom = start + warmupSeconds * 1_000_000_000L;
+        List<CompletableFuture<?>> pending = new ArrayList<>();
+
+        for (long i = 0; i < total; i++) {
+            long due = start + i * intervalNanos;
+            long wait = due - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            if (inFlight.get() >= maxInFlight) {
+                dropped.incrementAndGet();
+                continue;
+            }
+            Workload.Call call = workload.next();
+            boolean measured = due >= measureFrom;
+            inFlight.incrementAndGet();
+            CompletableFuture<?> response = client.sendAsync(call.request(), HttpResponse.BodyHandlers.ofString())
+                    .handle((result, error) -> {
+                        long latency = System.nanoTime() - due;
+                        inFlight.decrementAndGet();
+                        boolean ok = error == null && result.statusCode() < 400;
+                        if (ok) {
+                            call.onSuccess().accept(result.body());
+                        }
+                        if (measured) {
+                            recorders.computeIfAbsent(call.endpoint(), name -> new LatencyRecorder()).record(latency, ok);
+                        }
+                        return null;
+                    });
+            pending.add(response);
+            if (pending.size() > 10_000) {
+                pending.removeIf(CompletableFuture::isDone);
+            }
+        }
+        CompletableFuture.allOf(pending.toArray(new CompletableFuture[0])).get(2, TimeUnit.MINUTES);
+        responseExecutor.shutdown();
+
+        System.out.printf("%nrate %d rps for %d s (+%d s warm-up), %d%% writes, %d dropped%n", rps, seconds, warmupSeconds, writePercent, dropped.get());
+        System.out.printf("%-32s %8s %7s %9s %9s %9s %9s %9s%n", "endpoint", "requests", "errors", "req/s", "p50 ms", "p99 ms", "p999 ms", "max ms");
+        long requests = 0;
+        for (Map.Entry<String, LatencyRecorder> entry : recorders.entrySet()) {
+            LatencyRecorder recorder = entry.getValue();
+            requests += recorder.count();
+            System.out.printf("%-32s %8d %7d %9.1f %9.2f %9.2f %9.2f %9.2f%n", entry.getKey(), recorder.count(), recorder.errors(),
+                    recorder.count() / (double) seconds, recorder.percentile(0.50), recorder.percentile(0.99),
+                    recorder.percentile(0.999), recorder.percentile(1.0));
+        }
+        assertTrue(requests > 0, "no requests completed in the measured window");
+    }
+
+    // Picks the next request of the mix; ids created by POSTs are reused for PUT/DELETE so writes don't pile up
+    private static class Workload {
+        private final String baseUrl;
+        private final long seededRows;
+        private final int writePercent;
+        private final ConcurrentLinkedQueue<Long> createdIds = new ConcurrentLinkedQueue<>();
+
+        Workload(String baseUrl, long seededRows, int writePercent) {
+            this.baseUrl = baseUrl;
+            this.seededRows = seededRows;
+            this.writePercent = writePercent;
+        }
+
+        record Call(String endpoint, HttpRequest request, java.util.function.Consumer<String> onSuccess) {
+        }
+
+        Call next() {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            if (random.nextInt(100) < writePercent) {
+                return nextWrite(random);
+            }
+            int pick = random.nextInt(100);
+            if (pick < 30) {
+                return get("GET /api/transactions", "/api/transactions?page=" + random.nextInt(100) + "&size=10");
+            } else if (pick < 45) {
+                return get("GET /api/transactions/{id}", "/api/transactions/" + (1 + random.nextLong(seededRows)));
+            } else if (pick < 55) {
+                return get("GET /api/transactions startsWith", "/api/transactions?size=10&filterType=startsWith&description="
+                        + WORDS[random.nextInt(WORDS.length)] + "%20ref" + random.nextInt(1000));
+            } else if (pick < 65) {
+                return get("GET /api/transactions contains", "/api/transactions?size=10&filterType=contains&description=ref"
+                        + (1 + random.nextLong(seededRows)));
+            } else if (pick < 75) {
+                return get("GET /api/transactions/scroll", "/api/transactions/scroll?size=10");
+            } else if (pick < 90) {
+                return get("GET /api/budgets", "/api/budgets");
+            } else {
+                return get("GET /api/budgets/{id}", "/api/budgets/" + budgetId(random));
+            }
+        }
+
+        private Call nextWrite(ThreadLocalRandom random) {
+            int pick = random.nextInt(100);
+            Long id = pick >= 60 ? createdIds.poll() : null;
+            if (id != null && pick < 80) {
+                return new Call("PUT /api/transactions/{id}", json("/api/transactions/" + id, "PUT", body(random)), response -> createdIds.add(id));
+            } else if (id != null) {
+                return new Call("DELETE /api/transactions/{id}", HttpRequest.newBuilder(URI.create(baseUrl + "/api/transactions/" + id)).DELETE().build(),
+                        response -> { });
+            } else if (pick == 0) {
+                return new Call("POST /api/budgets/reload", json("/api/budgets/reload", "POST", ""), response -> { });
+            }
+            return new Call("POST /api/transactions", json("/api/transactions", "POST", body(random)), response -> {
+                int idStart = response.indexOf("\"id\":") + 5;
+                createdIds.add(Long.parseLong(response.substring(idStart, response.indexOf(',', idStart)).trim()));
+            });
+        }
+
+        private Call get(String endpoint, String path) {
+            return new Call(endpoint, HttpRequest.newBuilder(URI.create(baseUrl + path)).GET().build(), response -> { });
+        }
+
+        private HttpRequest json(String path, String method, String body) {
+            return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                    .header("Content-Type", "application/json")
+                    .method(method, HttpRequest.BodyPublishers.ofString(body))
+                    .build();
+        }
+
+        private static String body(ThreadLocalRandom random) {
+            CategoryType category = EXPENSE_CATEGORIES[random.nextInt(EXPENSE_CATEGORIES.length)];
+            return LoadTestSupport.transactionJson(category, BigDecimal.valueOf(random.nextInt(1, 100_000), 2), "load test " + WORDS[random.nextInt(WORDS.length)]);
+        }
+
+        private static long budgetId(ThreadLocalRandom random) {
+            return 1 + random.nextInt(EXPENSE_CATEGORIES.length); // budgets are the first rows of a fresh sequence
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.project.ems_backend.benchmark;
+
+import com.project.ems_backend.model.CategoryType;
+import com.project.ems_backend.model.Transaction;
+import com.project.ems_backend.model.TransactionType;
+import com.project.ems_backend.repository.TransactionRepository;
+import com.project.ems_backend.service.TransactionSearchIndex;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+// Search latency of the description n-gram index (the part that replaces the LIKE '%...%' scan; the follow-up
+// "id IN (...)" query is a primary key lookup of at most transactions.search.max-candidates rows).
+// Only runs when asked for: mvn test -Dtest=DescriptionSearchBenchmarkTest -Dbenchmark=true [-Dbenchmark.searchRows=10000000]
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class DescriptionSearchBenchmarkTest {
+
+    private static final String[] WORDS = {"grocery", "lunch", "dinner", "coffee", "uber", "train", "rent", "netflix",
+            "gym", "books", "pharmacy", "fuel", "parking", "hotel", "flight", "shoes", "gift", "tuition", "repair", "insurance"};
+
+    @TempDir
+    Path indexPath;
+
+    @Test
+    void searchLatency() throws Exception {
+        long rows = Long.getLong("benchmark.searchRows", 10_000_000L);
+        TransactionSearchIndex searchIndex = new TransactionSearchIndex(mock(TransactionRepository.class), mock(EntityManager.class), mock(PlatformTransactionManager.class),
+                true, indexPath.toString(), 10_000);
+        Random random = new Random(42);
+
+        long indexStart = System.nanoTime();
+        List<Transaction> batch = new ArrayList<>(10_000);
+        for (long id = 1; id <= rows; id++) {
+            Transaction transaction = new Transaction(BigDecimal.ONE, TransactionType.EXPENSE, CategoryType.OTHERS,
+                    WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)] + " ref" + id);
+            transaction.setId(id);
+            batch.add(transaction);
+            if (batch.size() == 10_000) {
+                searchIndex.index(batch);
+                batch.clear();
+            }
+        }
+        searchIndex.index(batch);
+        searchIndex.markReady();
+        System.out.printf("indexed %d descriptions in %d ms%n", rows, (System.nanoTime() - indexStart) / 1_000_000);
+
+        // Selective terms: a reference number (one row) and a word pair plus part of a reference (a handful of rows)
+        String[] terms = {"ref" + (rows / 2), "ref" + (rows / 3), "lunch coffee ref12", "otel flight ref9"};
+        for (String term : terms) {
+            searchIndex.findCandidateIds(term); //warm-up
+            long[] timings = new long[21];
+            int candidates = 0;
+            for (int i = 0; i < timings.length; i++) {
+                long start = System.nanoTime();
+                candidates = searchIndex.findCandidateIds(term).map(List::size).orElse(-1);
+                timings[i] = System.nanoTime() - start;
+            }
+            Arrays.sort(timings);
+            System.out.printf("%-22s candidates=%-6d median=%.3f ms p95=%.3f ms%n", '"' + term + '"', candidates,
+                    timings[timings.length / 2] / 1e6, timings[timings.length * 95 / 100] / 1e6);
+            assertTrue(candidates >= 0, "index should answer selective searches without a scan");
+        }
+        searchIndex.close();
+    }
+}
@@ -0,0 +1,96 @@
+package com.project.ems_backend.benchmark;
+
+import com.project.ems_backend.model.CategoryType;
+import com.project.ems_backend.model.Transaction;
+import com.project.ems_backend.model.TransactionType;
+import com.project.ems_backend.repository.TransactionRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Compares the old "load every entity and reduce" path against the SUM query at growing table sizes.
+// Only runs when asked for: mvn test -Dtest=ExpenseAggregationBenchmarkTest -Dbenchmark=true [-Dbenchmark.rows=10000,1000000,10000000]
+@SpringBootTest
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class ExpenseAggregationBenchmarkTest {
+
+    private static final int RUNS = 5;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void sumQueryVersusEntityReduce() {
+        long[] sizes = Arrays.stream(System.getProperty("benchmark.rows", "10000,1000000,10000000").split(","))
+                .mapToLong(size -> Long.parseLong(size.trim()))
+                .toArray();
+        long legacyMaxRows = Long.getLong("benchmark.legacyMaxRows", 1_000_000L); //loading more entities than this would only measure the OOM
+
+        System.out.printf("%12s %16s %18s%n", "rows", "sum query (ms)", "entity reduce (ms)");
+        for (long rows : sizes) {
+            seed(rows);
+
+            BigDecimal[] sum = new BigDecimal[1];
+            double sumMillis = medianMillis(() -> sum[0] = transactionRepository.sumAmountByCategoryAndType(CategoryType.FOOD, TransactionType.EXPENSE));
+
+            String legacy = "skipped";
+            if (rows <= legacyMaxRows) {
+                BigDecimal[] reduced = new BigDecimal[1];
+                legacy = String.format("%.2f", medianMillis(() -> reduced[0] = loadAndReduce(CategoryType.FOOD)));
+                assertEquals(0, sum[0].compareTo(reduced[0])); //both paths must agree on the total
+            }
+            System.out.printf("%12d %16.2f %18s%n", rows, sumMillis, legacy);
+        }
+    }
+
+    // What calculateTotalExpensesForCategory used to do: hydrate every matching Transaction and add the amounts up in Java
+    private BigDecimal loadAndReduce(CategoryType category) {
+        return transactionTemplate.execute(status -> {
+            List<Transaction> expenses = entityManager
+                    .createQuery("SELECT t FROM Transaction t WHERE t.category = :category AND t.type = :type", Transaction.class)
+                    .setParameter("category", category)
+                    .setParameter("type", TransactionType.EXPENSE)
+                    .getResultList();
+            BigDecimal total = expenses.stream().map(Transaction::getAmount).reduce(BigDecimal.ZERO, BigDecimal::add);
+            entityManager.clear();
+            return total;
+        });
+    }
+
+    // Same rows as every other benchmark (see LoadTestSupport), all expenses spread over the six expense categories
+    private void seed(long rows) {
+        jdbcTemplate.execute("DELETE FROM transaction");
+        LoadTestSupport.insertTransactions(jdbcTemplate, rows);
+    }
+
+    private static double medianMillis(Runnable action) {
+        action.run(); //warm-up run
+        long[] timings = new long[RUNS];
+        for (int i = 0; i < RUNS; i++) {
+            long start = System.nanoTime();
+            action.run();
+            timings[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(timings);
+        return timings[RUNS / 2] / 1_000_000.0;
+    }
+}
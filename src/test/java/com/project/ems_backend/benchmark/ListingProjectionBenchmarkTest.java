@@ -0,0 +1,103 @@
+package com.project.ems_backend.benchmark;
+
+import com.project.ems_backend.EmsBackendApplication;
+import com.project.ems_backend.model.Transaction;
+import com.project.ems_backend.model.TransactionFilter;
+import com.project.ems_backend.repository.TransactionRepository;
+import com.project.ems_backend.repository.TransactionSpecifications;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Latency, allocation and persistence context size of one listing page, loaded as entities (findAll) and as
+// TransactionView rows (findViews). Each page is read inside a transaction that stays open afterwards, like the request's
+// EntityManager under open-in-view, and runs with the second-level cache on as in production.
+// Only runs when asked for: mvn test -Dtest=ListingProjectionBenchmarkTest -Dbenchmark=true -DargLine=-Xmx2g
+//   -Dprojection.rows=200000 -Dprojection.pageSize=1000 -Dprojection.pages=300
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class ListingProjectionBenchmarkTest {
+
+    @Test
+    void entityPagesVersusViewPages() throws Exception {
+        long rows = Long.getLong("projection.rows", 200_000L);
+        int pageSize = Integer.getInteger("projection.pageSize", 1_000);
+        int pages = Integer.getInteger("projection.pages", 300);
+
+        try (ConfigurableApplicationContext context = start()) {
+            LoadTestSupport.seed(context, rows);
+            TransactionRepository repository = context.getBean(TransactionRepository.class);
+            Specification<Transaction> everything = TransactionSpecifications.matching(TransactionFilter.of(null, null, null));
+            Result entities = run(context, pages, pageSize, rows, pageable -> repository.findAll(everything, pageable));
+            Result views = run(context, pages, pageSize, rows, pageable -> repository.findViews(everything, pageable));
+
+            System.out.printf("%-9s %6s %10s %12s %15s%n", "rows as", "pages", "ms/page", "KB/page", "managed/page");
+            entities.print("entities", pages);
+            views.print("views", pages);
+            assertEquals(0, views.managedEntities, "views must not add entities to the persistence context");
+            assertTrue(views.allocatedBytes < entities.allocatedBytes, "views should allocate less than entities");
+        }
+    }
+
+    private static Result run(ConfigurableApplicationContext context, int pages, int pageSize, long rows,
+                              Function<Pageable, Page<?>> load) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        transactionTemplate.setReadOnly(true);
+        EntityManager entityManager = context.getBean(EntityManager.class); // shared proxy, bound to the template's transaction
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        int lastPage = (int) Math.max(1, rows / pageSize);
+
+        for (int i = 0; i < Math.min(pages, 20); i++) { // warm-up
+            int page = i % lastPage;
+            transactionTemplate.executeWithoutResult(status -> load.apply(PageRequest.of(page, pageSize, Sort.by("id"))));
+        }
+
+        Result result = new Result();
+        for (int i = 0; i < pages; i++) {
+            Pageable pageable = PageRequest.of(i % lastPage, pageSize, Sort.by("id"));
+            transactionTemplate.executeWithoutResult(status -> {
+                long allocatedBefore = threads.getCurrentThreadAllocatedBytes();
+                long start = System.nanoTime();
+                load.apply(pageable);
+                result.nanos += System.nanoTime() - start;
+                result.allocatedBytes += threads.getCurrentThreadAllocatedBytes() - allocatedBefore;
+                result.managedEntities += entityManager.unwrap(Session.class).getStatistics().getEntityCount();
+            });
+        }
+        return result;
+    }
+
+    private static ConfigurableApplicationContext start() {
+        // Command-line arguments, so they win over the test application.properties (which also has the cache on)
+        return new SpringApplicationBuilder(EmsBackendApplication.class).run("--server.port=0",
+                "--spring.datasource.url=jdbc:h2:mem:listing_projection;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                "--logging.level.root=WARN",
+                "--spring.autoconfigure.exclude=org.springframework.boot.devtools.autoconfigure.DevToolsDataSourceAutoConfiguration");
+    }
+
+    private static class Result {
+        private long nanos;
+        private long allocatedBytes;
+        private long managedEntities;
+
+        void print(String mode, int pages) {
+            System.out.printf("%-9s %6d %10.2f %12.0f %15d%n", mode, pages, nanos / 1e6 / pages, allocatedBytes / 1024.0 / pages,
+                    managedEntities / pages);
+        }
+    }
+}
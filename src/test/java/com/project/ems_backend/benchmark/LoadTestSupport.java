@@ -0,0 +1,108 @@
+package com.project.ems_backend.benchmark;
+
+import com.project.ems_backend.model.Budget;
+import com.project.ems_backend.model.CategoryType;
+import com.project.ems_backend.model.TransactionType;
+import com.project.ems_backend.repository.BudgetRepository;
+import com.project.ems_backend.service.BudgetCache;
+import com.project.ems_backend.service.BudgetService;
+import com.project.ems_backend.service.TransactionQueryCache;
+import com.project.ems_backend.service.TransactionRollupService;
+import com.project.ems_backend.service.TransactionSearchIndex;
+import org.springframework.context.ApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+
+// Synthetic data for every benchmark (the JMH ones in src/jmh/java share this package when -Pbenchmark adds them as test
+// sources) and latency bookkeeping for the HTTP load tests
+final class LoadTestSupport {
+
+    static final String[] WORDS = {"grocery", "lunch", "dinner", "coffee", "uber", "train", "rent", "netflix", "gym", "books"};
+    static final CategoryType[] EXPENSE_CATEGORIES = Arrays.stream(CategoryType.values())
+            .filter(category -> category.getType() == TransactionType.EXPENSE)
+            .toArray(CategoryType[]::new);
+
+    private LoadTestSupport() {
+    }
+
+    // Expenses over the expense categories and the days of 2024 and one budget per category, with the caches, rollups and
+    // search index brought up to date
+    static void seed(ApplicationContext context, long rows) throws Exception {
+        insertTransactions(context.getBean(JdbcTemplate.class), rows);
+
+        BudgetRepository budgetRepository = context.getBean(BudgetRepository.class);
+        for (CategoryType category : EXPENSE_CATEGORIES) {
+            budgetRepository.save(new Budget(category, BigDecimal.valueOf(1_000_000_000), BigDecimal.valueOf(1_000_000_000), null, null, "Budget Intact"));
+        }
+        context.getBean(BudgetCache.class).invalidateAll();
+        context.getBean(TransactionQueryCache.class).invalidateAll(); // the rows above bypassed TransactionService
+        context.getBean(BudgetService.class).updateAllBudgetsRemainingAmounts();
+        context.getBean(TransactionRollupService.class).rebuild();
+        TransactionSearchIndex searchIndex = context.getBean(TransactionSearchIndex.class);
+        searchIndex.rebuild();
+        searchIndex.markReady();
+    }
+
+    // Only the transaction rows (ids 1..rows), generated inside H2 itself; descriptions are a word of WORDS plus " ref<id>"
+    static void insertTransactions(JdbcTemplate jdbcTemplate, long rows) {
+        StringBuilder words = new StringBuilder("CASE MOD(r.n, ").append(WORDS.length).append(")");
+        for (int i = 0; i < WORDS.length; i++) {
+            words.append(" WHEN ").append(i).append(" THEN '").append(WORDS[i]).append("'");
+        }
+        words.append(" END");
+        jdbcTemplate.update("INSERT INTO transaction (id, amount, type, category, description, description_normalized, transaction_date) " +
+                "SELECT r.n, MOD(r.n, 10000) / 100.0, 'EXPENSE', " +
+                "CASE MOD(r.n, 6) WHEN 0 THEN 'FOOD' WHEN 1 THEN 'ENTERTAINMENT' WHEN 2 THEN 'SHOPPING' " +
+                "WHEN 3 THEN 'TRAVEL' WHEN 4 THEN 'EDUCATION' ELSE 'OTHERS' END, " +
+                "CONCAT(" + words + ", ' ref', r.n), LOWER(CONCAT(" + words + ", ' ref', r.n)), " +
+                "DATEADD(DAY, MOD(r.n, 366), DATE '2024-01-01') FROM SYSTEM_RANGE(1, ?) AS r(n)", rows);
+        // Hibernate's pooled ids end at the sequence value, so start one allocation (50) past the seeded ids
+        jdbcTemplate.execute("ALTER SEQUENCE transaction_seq RESTART WITH " + (rows + 51));
+    }
+
+    static String transactionJson(CategoryType category, BigDecimal amount, String description) {
+        return "{\"amount\":" + amount + ",\"type\":\"EXPENSE\",\"category\":\"" + category + "\",\"description\":\"" + description + "\"}";
+    }
+
+    // All latencies of one endpoint, sorted once at the end for exact percentiles
+    static class LatencyRecorder {
+        private long[] latencies = new long[1024];
+        private int count;
+        private int errors;
+        private boolean sorted;
+
+        synchronized void record(long nanos, boolean ok) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = nanos;
+            if (!ok) {
+                errors++;
+            }
+            sorted = false;
+        }
+
+        synchronized int count() {
+            return count;
+        }
+
+        synchronized int errors() {
+            return errors;
+        }
+
+        // In milliseconds, nearest rank
+        synchronized double percentile(double fraction) {
+            if (count == 0) {
+                return 0;
+            }
+            if (!sorted) {
+                Arrays.sort(latencies, 0, count);
+                sorted = true;
+            }
+            int rank = Math.max((int) Math.ceil(fraction * count), 1);
+            return latencies[rank - 1] / 1e6;
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.project.ems_backend.benchmark;
+
+import com.project.ems_backend.model.CategoryType;
+import com.project.ems_backend.model.TransactionType;
+import com.project.ems_backend.repository.TransactionReportRow;
+import com.project.ems_backend.repository.TransactionRepository;
+import com.project.ems_backend.service.TransactionReportService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.SplittableRandom;
+import java.util.function.Supplier;
+import java.util.stream.LongStream;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+// Report latency over a generated snapshot (the rows never touch a database, only the in-memory scans are measured).
+// Only runs when asked for: mvn test -Dtest=ReportBenchmarkTest -Dbenchmark=true [-Dbenchmark.reportRows=50000000]
+// 50M rows need about 1 GB of heap for the snapshot columns: -DargLine=-Xmx4g
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class ReportBenchmarkTest {
+
+    private static final CategoryType[] CATEGORIES = CategoryType.values();
+    private static final BigDecimal[] AMOUNTS = LongStream.range(0, 100_000).mapToObj(cents -> BigDecimal.valueOf(cents, 2)).toArray(BigDecimal[]::new);
+    private static final Date[] DATES = LongStream.range(0, 1096).mapToObj(day -> java.sql.Date.valueOf(LocalDate.of(2022, 1, 1).plusDays(day))).toArray(Date[]::new);
+
+    @Test
+    void reportLatency() {
+        int rows = Integer.getInteger("benchmark.reportRows", 50_000_000);
+        TransactionRepository transactionRepository = mock(TransactionRepository.class);
+        SplittableRandom random = new SplittableRandom(42);
+        when(transactionRepository.count()).thenReturn((long) rows);
+        when(transactionRepository.streamReportRows()).thenAnswer(invocation -> LongStream.range(0, rows).mapToObj(i -> {
+            CategoryType category = CATEGORIES[random.nextInt(CATEGORIES.length)];
+            return (TransactionReportRow) new Row(AMOUNTS[random.nextInt(AMOUNTS.length)], category, category.getType(),
+                    DATES[random.nextInt(DATES.length)], "merchant " + random.nextInt(5000));
+        }));
+        TransactionReportService reportService = new TransactionReportService(transactionRepository, mock(PlatformTransactionManager.class), new SyncTaskExecutor(),
+                Duration.ofHours(1), 100_000);
+
+        System.out.printf("snapshot: %d rows loaded in %d ms%n", rows, reportService.refresh().getBuildMillis());
+        time("categories (all time)", () -> reportService.getCategoryReport(null, null, null));
+        time("categories (2023, expense)", () -> reportService.getCategoryReport(LocalDate.of(2023, 1, 1), LocalDate.of(2023, 12, 31), TransactionType.EXPENSE));
+        time("cash flow by month", () -> reportService.getCashFlow(null, null, "month"));
+        time("cash flow by day", () -> reportService.getCashFlow(null, null, "day"));
+        time("top 10 FOOD descriptions", () -> reportService.getTopDescriptions(CategoryType.FOOD, null, null, 10));
+    }
+
+    private static void time(String name, Supplier<?> report) {
+        report.get(); //warm-up
+        long[] timings = new long[7];
+        for (int i = 0; i < timings.length; i++) {
+            long start = System.nanoTime();
+            report.get();
+            timings[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(timings);
+        System.out.printf("%-28s median=%.1f ms max=%.1f ms%n", name, timings[timings.length / 2] / 1e6, timings[timings.length - 1] / 1e6);
+    }
+
+    private record Row(BigDecimal getAmount, CategoryType getCategory, TransactionType getType, Date getTransactionDate,
+                       String getDescription) implements TransactionReportRow {
+    }
+}
@@ -0,0 +1,93 @@
+package com.project.ems_backend.benchmark;
+
+import com.project.ems_backend.EmsBackendApplication;
+import com.project.ems_backend.model.Budget;
+import com.project.ems_backend.repository.BudgetRepository;
+import com.project.ems_backend.service.BudgetService;
+import com.project.ems_backend.service.TransactionService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Database round trips for lookups (getTransactionById, getBudgetById) with the second-level cache off and on.
+// Boots the application once per mode on its own in-memory database, seeds it, then runs the same lookups: most of them
+// on a hot set of ids (dashboards reopening the same rows), the rest anywhere in the table.
+// Only runs when asked for: mvn test -Dtest=SecondLevelCacheBenchmarkTest -Dbenchmark=true -DargLine=-Xmx2g
+//   -Dl2.rows=200000 -Dl2.lookups=200000 -Dl2.hotIds=5000 -Dl2.hotPercent=90
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class SecondLevelCacheBenchmarkTest {
+
+    @Test
+    void idLookupsWithAndWithoutSecondLevelCache() throws Exception {
+        long rows = Long.getLong("l2.rows", 200_000L);
+        int lookups = Integer.getInteger("l2.lookups", 200_000);
+        int hotIds = Integer.getInteger("l2.hotIds", 5_000);
+        int hotPercent = Integer.getInteger("l2.hotPercent", 90);
+        long[] ids = lookupIds(rows, lookups, hotIds, hotPercent); // same sequence for both modes
+
+        System.out.printf("%-9s %9s %11s %14s %10s %9s%n", "l2 cache", "lookups", "statements", "stmts/lookup", "lookups/s", "hit ratio");
+        long[] statements = new long[2];
+        for (int mode = 0; mode < 2; mode++) {
+            boolean cached = mode == 1;
+            try (ConfigurableApplicationContext context = start(cached)) {
+                LoadTestSupport.seed(context, rows);
+                TransactionService transactionService = context.getBean(TransactionService.class);
+                BudgetService budgetService = context.getBean(BudgetService.class);
+                long[] budgetIds = context.getBean(BudgetRepository.class).findAll().stream().mapToLong(Budget::getId).toArray();
+                Statistics statistics = context.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+
+                lookup(ids, budgetIds, Math.min(lookups, 10_000), transactionService, budgetService); // warm-up
+                statistics.clear();
+                long start = System.nanoTime();
+                lookup(ids, budgetIds, lookups, transactionService, budgetService);
+                double seconds = (System.nanoTime() - start) / 1e9;
+
+                statements[mode] = statistics.getPrepareStatementCount();
+                long hits = statistics.getSecondLevelCacheHitCount();
+                long misses = statistics.getSecondLevelCacheMissCount();
+                System.out.printf("%-9s %9d %11d %14.3f %10.0f %9s%n", cached ? "on" : "off", lookups, statements[mode],
+                        statements[mode] / (double) lookups, lookups / seconds,
+                        cached ? String.format("%.3f", hits / (double) Math.max(1, hits + misses)) : "-");
+            }
+        }
+        assertTrue(statements[1] < statements[0], "the second-level cache should save round trips");
+    }
+
+    private static ConfigurableApplicationContext start(boolean cached) {
+        // Command-line arguments, so they win over the test application.properties (which has the cache on)
+        return new SpringApplicationBuilder(EmsBackendApplication.class).run("--server.port=0",
+                "--spring.datasource.url=jdbc:h2:mem:l2_cache_" + cached + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                "--spring.jpa.properties.hibernate.cache.use_second_level_cache=" + cached,
+                "--spring.jpa.properties.hibernate.cache.use_query_cache=" + cached,
+                "--logging.level.root=WARN",
+                "--spring.autoconfigure.exclude=org.springframework.boot.devtools.autoconfigure.DevToolsDataSourceAutoConfiguration");
+    }
+
+    // Every tenth lookup is a budget, the others a transaction
+    private static void lookup(long[] ids, long[] budgetIds, int count, TransactionService transactionService, BudgetService budgetService) {
+        for (int i = 0; i < count; i++) {
+            if (i % 10 == 0) {
+                budgetService.getBudgetById(budgetIds[i / 10 % budgetIds.length]);
+            } else {
+                transactionService.getTransactionById(ids[i]);
+            }
+        }
+    }
+
+    private static long[] lookupIds(long rows, int lookups, int hotIds, int hotPercent) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long[] ids = new long[lookups];
+        for (int i = 0; i < lookups; i++) {
+            ids[i] = random.nextInt(100) < hotPercent ? 1 + random.nextLong(Math.min(hotIds, rows)) : 1 + random.nextLong(rows);
+        }
+        return ids;
+    }
+}
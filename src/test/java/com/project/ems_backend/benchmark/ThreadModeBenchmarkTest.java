@@ -0,0 +1,131 @@
+package com.project.ems_backend.benchmark;
+
+import com.project.ems_backend.EmsBackendApplication;
+import com.project.ems_backend.benchmark.LoadTestSupport.LatencyRecorder;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static com.project.ems_backend.benchmark.LoadTestSupport.EXPENSE_CATEGORIES;
+import static com.project.ems_backend.benchmark.LoadTestSupport.WORDS;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Platform versus virtual request threads: boots the application once per mode (each on its own in-memory database),
+// then runs closed-loop clients against the transaction endpoints (each client sends its next request as soon as the
+// previous one answered) and prints throughput and latency percentiles per client count.
+// Only runs when asked for: mvn test -Dtest=ThreadModeBenchmarkTest -Dbenchmark=true -DargLine=-Xmx4g
+//   -Dthreads.clients=1000,5000,10000  concurrent clients; every client holds a connection, so the open file limit
+//                                      (ulimit -n) has to be above twice the largest count
+//   -Dthreads.seconds=30 -Dthreads.warmupSeconds=10 -Dthreads.rows=500000
+// Virtual threads need a Java 21+ runtime; on older ones only the platform mode runs.
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class ThreadModeBenchmarkTest {
+
+    @Test
+    void platformVersusVirtualThreads() throws Exception {
+        int[] clientCounts = Arrays.stream(System.getProperty("threads.clients", "1000,5000,10000").split(","))
+                .mapToInt(count -> Integer.parseInt(count.trim())).toArray();
+        int seconds = Integer.getInteger("threads.seconds", 30);
+        int warmupSeconds = Integer.getInteger("threads.warmupSeconds", 10);
+        long rows = Long.getLong("threads.rows", 500_000L);
+
+        boolean virtualThreadsSupported = Runtime.version().feature() >= 21;
+        List<Boolean> modes = virtualThreadsSupported ? List.of(false, true) : List.of(false);
+        if (!virtualThreadsSupported) {
+            System.out.printf("Java %d: virtual threads need 21+, measuring platform threads only%n", Runtime.version().feature());
+        }
+
+        System.out.printf("%-9s %8s %9s %7s %9s %9s %9s %9s%n", "threads", "clients", "req/s", "errors", "p50 ms", "p99 ms", "p999 ms", "max ms");
+        for (boolean virtual : modes) {
+            String mode = virtual ? "virtual" : "platform";
+            try (ConfigurableApplicationContext context = start(mode, virtual)) {
+                LoadTestSupport.seed(context, rows);
+                String baseUrl = "http://localhost:" + ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+                for (int clients : clientCounts) {
+                    LatencyRecorder recorder = run(baseUrl, rows, clients, warmupSeconds, seconds);
+                    System.out.printf("%-9s %8d %9.1f %7d %9.2f %9.2f %9.2f %9.2f%n", mode, clients, recorder.count() / (double) seconds,
+                            recorder.errors(), recorder.percentile(0.50), recorder.percentile(0.99), recorder.percentile(0.999), recorder.percentile(1.0));
+                    assertTrue(recorder.count() > 0, "no requests completed with " + clients + " " + mode + " clients");
+                }
+            }
+        }
+    }
+
+    private static ConfigurableApplicationContext start(String mode, boolean virtual) {
+        // Command-line arguments, so they win over the test application.properties (its datasource url in particular)
+        return new SpringApplicationBuilder(EmsBackendApplication.class)
+                .run("--server.port=0",
+                        "--spring.threads.virtual.enabled=" + virtual,
+                        "--spring.datasource.url=jdbc:h2:mem:thread_mode_" + mode + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                        // compare the thread models, not Tomcat's connection limits
+                        "--server.tomcat.max-connections=20000",
+                        "--server.tomcat.accept-count=1000",
+                        "--logging.level.root=WARN",
+                        "--spring.autoconfigure.exclude=org.springframework.boot.devtools.autoconfigure.DevToolsDataSourceAutoConfiguration");
+    }
+
+    private static LatencyRecorder run(String baseUrl, long rows, int clients, int warmupSeconds, int seconds) throws Exception {
+        HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).connectTimeout(Duration.ofSeconds(30)).build();
+        LatencyRecorder recorder = new LatencyRecorder();
+        long measureFrom = System.nanoTime() + TimeUnit.SECONDS.toNanos(warmupSeconds);
+        long stopAt = measureFrom + TimeUnit.SECONDS.toNanos(seconds);
+        CompletableFuture<?>[] loops = new CompletableFuture<?>[clients];
+        for (int i = 0; i < clients; i++) {
+            loops[i] = loop(client, baseUrl, rows, recorder, measureFrom, stopAt);
+        }
+        CompletableFuture.allOf(loops).get(seconds + warmupSeconds + 120L, TimeUnit.SECONDS);
+        return recorder;
+    }
+
+    // One client: send, wait for the answer, record it if inside the measured window, repeat until stopAt
+    private static CompletableFuture<Void> loop(HttpClient client, String baseUrl, long rows, LatencyRecorder recorder, long measureFrom, long stopAt) {
+        long start = System.nanoTime();
+        if (start >= stopAt) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return client.sendAsync(request(baseUrl, rows), HttpResponse.BodyHandlers.discarding())
+                .handle((response, error) -> {
+                    if (start >= measureFrom) {
+                        recorder.record(System.nanoTime() - start, error == null && response.statusCode() < 400);
+                    }
+                    return null;
+                })
+                .thenCompose(ignored -> loop(client, baseUrl, rows, recorder, measureFrom, stopAt));
+    }
+
+    // Transaction endpoints only: page, id lookup, prefix filter and one write in ten
+    private static HttpRequest request(String baseUrl, long rows) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int pick = random.nextInt(10);
+        String path = switch (pick) {
+            case 0, 1, 2 -> "/api/transactions?size=10&page=" + random.nextInt(100);
+            case 3, 4, 5 -> "/api/transactions/" + (1 + random.nextLong(rows));
+            case 6, 7, 8 -> "/api/transactions?size=10&filterType=startsWith&description=" + WORDS[random.nextInt(WORDS.length)] + "%20ref" + random.nextInt(1000);
+            default -> null;
+        };
+        HttpRequest.Builder request = HttpRequest.newBuilder().timeout(Duration.ofSeconds(60));
+        if (path != null) {
+            return request.uri(URI.create(baseUrl + path)).GET().build();
+        }
+        String body = LoadTestSupport.transactionJson(EXPENSE_CATEGORIES[random.nextInt(EXPENSE_CATEGORIES.length)],
+                BigDecimal.valueOf(random.nextInt(1, 100_000), 2), "thread mode " + WORDS[random.nextInt(WORDS.length)]);
+        return request.uri(URI.create(baseUrl + "/api/transactions"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+}
@@ -0,0 +1,130 @@
+package com.project.ems_backend.benchmark;
+
+import com.project.ems_backend.model.Budget;
+import com.project.ems_backend.model.CategoryType;
+import com.project.ems_backend.model.ImportResult;
+import com.project.ems_backend.model.TransactionType;
+import com.project.ems_backend.repository.BudgetRepository;
+import com.project.ems_backend.service.BudgetCache;
+import com.project.ems_backend.service.TransactionImportService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Streams a generated CSV file through the import service and reports throughput and peak heap.
+// Only runs when asked for: mvn test -Dtest=TransactionImportBenchmarkTest -Dbenchmark=true [-Dbenchmark.importRows=5000000]
+// The rows are generated on the fly, so the file itself never sits in memory; note that the H2 stand-in keeps its data on the heap too.
+@SpringBootTest
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class TransactionImportBenchmarkTest {
+
+    private static final CategoryType[] CATEGORIES = CategoryType.values();
+
+    @Autowired
+    private TransactionImportService transactionImportService;
+
+    @Autowired
+    private BudgetRepository budgetRepository;
+
+    @Autowired
+    private BudgetCache budgetCache;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.execute("DELETE FROM transaction");
+        budgetRepository.deleteAll();
+        budgetCache.invalidateAll(); //budgets were removed behind the service's back
+    }
+
+    @Test
+    void importGeneratedCsv() throws Exception {
+        long rows = Long.getLong("benchmark.importRows", 5_000_000L);
+        Arrays.stream(CATEGORIES)
+                .filter(category -> category.getType() == TransactionType.EXPENSE)
+                .forEach(category -> budgetRepository.save(new Budget(category, BigDecimal.valueOf(1_000_000_000), BigDecimal.valueOf(1_000_000_000), null, null, null)));
+
+        AtomicLong peakHeap = new AtomicLong();
+        Thread sampler = new Thread(() -> {
+            Runtime runtime = Runtime.getRuntime();
+            while (!Thread.currentThread().isInterrupted()) {
+                peakHeap.accumulateAndGet(runtime.totalMemory() - runtime.freeMemory(), Math::max);
+                try {
+                    Thread.sleep(100);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        });
+        sampler.setDaemon(true);
+        sampler.start();
+
+        ImportResult result = transactionImportService.importCsv(new GeneratedCsv(rows));
+        sampler.interrupt();
+
+        System.out.printf("imported %d rows in %d chunks, %d ms (%.0f rows/s), peak heap %d MB%n",
+                result.getRowsImported(), result.getChunksCommitted(), result.getElapsedMillis(),
+                result.getRowsImported() * 1000.0 / Math.max(1, result.getElapsedMillis()), peakHeap.get() / (1024 * 1024));
+        assertEquals(rows, result.getRowsImported());
+        assertEquals(0, result.getRowsFailed());
+    }
+
+    // CSV body produced row by row as the importer reads it
+    private static class GeneratedCsv extends InputStream {
+
+        private final long rows;
+        private long nextRow = -1; // -1 is the header
+        private byte[] current = new byte[0];
+        private int position;
+
+        GeneratedCsv(long rows) {
+            this.rows = rows;
+        }
+
+        @Override
+        public int read() {
+            if (position == current.length && !advance()) {
+                return -1;
+            }
+            return current[position++] & 0xff;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) {
+            if (position == current.length && !advance()) {
+                return -1;
+            }
+            int count = Math.min(length, current.length - position);
+            System.arraycopy(current, position, buffer, offset, count);
+            position += count;
+            return count;
+        }
+
+        private boolean advance() {
+            if (nextRow >= rows) {
+                return false;
+            }
+            String line = nextRow < 0
+                    ? "amount,category,description,transactionDate\n"
+                    : (nextRow % 10000) / 100.0 + "," + CATEGORIES[(int) (nextRow % CATEGORIES.length)] + ",statement line " + nextRow
+                    + ",2024-" + String.format("%02d-%02d", nextRow % 12 + 1, nextRow % 28 + 1) + "\n";
+            current = line.getBytes(StandardCharsets.UTF_8);
+            position = 0;
+            nextRow++;
+            return true;
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.project.ems_backend.config;
+
+import com.project.ems_backend.model.CategoryType;
+import com.project.ems_backend.model.Transaction;
+import com.project.ems_backend.model.TransactionType;
+import com.project.ems_backend.repository.TransactionRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import(IdSequenceAlignment.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // ALTER SEQUENCE commits on H2, so no test transaction to roll back
+class IdSequenceAlignmentTest {
+
+    @Autowired
+    private IdSequenceAlignment idSequenceAlignment;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void cleanUp() {
+        transactionRepository.deleteAll();
+    }
+
+    @Test
+    void newIdsStartAboveRowsInsertedWithIdentityIds() {
+        // Rows an IDENTITY column numbered before the switch to sequences, which still start at 1
+        for (long id : new long[]{1000, 1001}) {
+            jdbcTemplate.update("INSERT INTO transaction (id, amount, type, category, description, description_normalized, transaction_date) " +
+                    "VALUES (?, 10, 'EXPENSE', 'FOOD', 'Legacy', 'legacy', DATE '2024-01-01')", id);
+        }
+
+        idSequenceAlignment.align();
+        Long first = transactionRepository.save(new Transaction(BigDecimal.TEN, TransactionType.EXPENSE, CategoryType.FOOD, "New")).getId();
+        assertTrue(first > 1001, "id " + first + " is not above the existing rows");
+
+        idSequenceAlignment.align(); //the sequence is ahead now and stays where it is
+        Long second = transactionRepository.save(new Transaction(BigDecimal.TEN, TransactionType.EXPENSE, CategoryType.FOOD, "Newer")).getId();
+        assertEquals(first + 1, second);
+        assertEquals(4, transactionRepository.count());
+    }
+}
@@ -0,0 +1,63 @@
+package com.project.ems_backend.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "management.endpoints.web.exposure.include=hibernate")
+@AutoConfigureMockMvc
+class ObservedCallsAspectTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void timesServiceAndRepositoryCallsWithFilterTypeTag() throws Exception {
+        mockMvc.perform(get("/api/transactions").param("description", "lunch").param("filterType", "startsWith"))
+                .andExpect(status().isOk());
+
+        assertTrue(meterRegistry.find("ems.service").tags("class", "TransactionService", "method", "getFilteredTransactions",
+                "filter.type", "startsWith", "outcome", "success").timer().count() > 0);
+        assertTrue(meterRegistry.find("ems.repository").tags("class", "TransactionRepository",
+                "method", "findViews").timer().count() > 0);
+        assertTrue(meterRegistry.find("ems.request.statements").tag("request", "GET /api/transactions").summary().count() > 0);
+    }
+
+    @Test
+    void tagsNegatedFilterTypes() throws Exception {
+        mockMvc.perform(get("/api/transactions").param("description", "lunch").param("filterType", "notEquals")).andExpect(status().isOk());
+        mockMvc.perform(get("/api/transactions").param("description", "lunch").param("filterType", "notContains")).andExpect(status().isOk());
+
+        assertTrue(meterRegistry.find("ems.service").tags("method", "getFilteredTransactions", "filter.type", "notEquals").timer().count() > 0);
+        assertTrue(meterRegistry.find("ems.service").tags("method", "getFilteredTransactions", "filter.type", "notContains").timer().count() > 0);
+    }
+
+    @Test
+    void tagsUnknownFilterTypesAsOther() throws Exception {
+        mockMvc.perform(get("/api/transactions").param("description", "lunch").param("filterType", "whatever"));
+
+        assertTrue(meterRegistry.find("ems.service").tags("method", "getFilteredTransactions", "filter.type", "other").timer().count() > 0);
+    }
+
+    @Test
+    void exposesHibernateStatistics() throws Exception {
+        mockMvc.perform(get("/api/budgets")).andExpect(status().isOk());
+
+        mockMvc.perform(get("/actuator/hibernate"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.enabled").value(true))
+                .andExpect(jsonPath("$.queryExecutions").isNumber())
+                .andExpect(jsonPath("$.topQueries").isArray());
+    }
+}
@@ -0,0 +1,44 @@
+package com.project.ems_backend.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class QueryDiagnosticsTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final QueryDiagnostics queryDiagnostics = new QueryDiagnostics(meterRegistry, 3);
+
+    @Test
+    void countsStatementsOfOneRequest() {
+        queryDiagnostics.begin();
+        queryDiagnostics.inspect("select * from transaction where id=?");
+        queryDiagnostics.inspect("select * from budget where category=?");
+
+        assertEquals(2, queryDiagnostics.end("GET /api/transactions/{id}"));
+        assertEquals(2.0, meterRegistry.get("ems.request.statements").tag("request", "GET /api/transactions/{id}").summary().totalAmount());
+        assertTrue(queryDiagnostics.recentFindings().isEmpty());
+    }
+
+    @Test
+    void flagsStatementRepeatedWithinOneRequest() {
+        queryDiagnostics.begin();
+        for (int i = 0; i < 3; i++) {
+            queryDiagnostics.inspect("select * from budget where id=?");
+        }
+
+        assertEquals(3, queryDiagnostics.end("GET /api/budgets"));
+        assertEquals(1.0, meterRegistry.get("ems.request.repeated.statements").tag("request", "GET /api/budgets").counter().count());
+        assertEquals(1, queryDiagnostics.recentFindings().size());
+        assertEquals("select * from budget where id=?", queryDiagnostics.recentFindings().get(0).sql());
+    }
+
+    @Test
+    void ignoresStatementsOutsideRequests() {
+        queryDiagnostics.inspect("select * from transaction");
+
+        assertEquals(0, queryDiagnostics.end("GET /api/transactions"));
+    }
+}
@@ -0,0 +1,101 @@
+package com.project.ems_backend.controller;
+
+import com.project.ems_backend.model.Budget;
+import com.project.ems_backend.model.BudgetView;
+import com.project.ems_backend.model.CategoryType;
+import com.project.ems_backend.service.BudgetService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(BudgetController.class)
+class BudgetControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private BudgetService budgetService;
+
+    @Test
+    void getAllBudgets_SendsETag() throws Exception {
+        BudgetView food = new BudgetView(1L, CategoryType.FOOD, BigDecimal.valueOf(1000), BigDecimal.valueOf(1000), null, null, "Budget Intact");
+        when(budgetService.getBudgetsETag()).thenReturn("\"budgets-1-1-1\"");
+        when(budgetService.getAllBudgets(anyInt(), anyInt(), anyString())).thenReturn(new PageImpl<>(List.of(food)));
+
+        mockMvc.perform(get("/api/budgets"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"budgets-1-1-1\""))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"))
+                .andExpect(jsonPath("$.content[0].category").value("FOOD"))
+                .andExpect(jsonPath("$.content[0].changeVersion").doesNotExist());
+    }
+
+    @Test
+    void getAllBudgets_NotModified() throws Exception {
+        when(budgetService.getBudgetsETag()).thenReturn("\"budgets-1-1-1\"");
+
+        mockMvc.perform(get("/api/budgets").header(HttpHeaders.IF_NONE_MATCH, "\"budgets-1-1-1\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"budgets-1-1-1\""))
+                .andExpect(content().string(""));
+
+        verify(budgetService, never()).getAllBudgets(anyInt(), anyInt(), anyString()); //no page query for a 304
+    }
+
+    @Test
+    void getBudgetById_ModifiedSinceETag() throws Exception {
+        Budget food = new Budget(CategoryType.FOOD, BigDecimal.valueOf(1000), BigDecimal.valueOf(900), null, null, "Within Limit");
+        when(budgetService.getBudgetById(1L)).thenReturn(food);
+        when(budgetService.getBudgetETag(food)).thenReturn("\"budget-1-2\"");
+
+        mockMvc.perform(get("/api/budgets/{id}", 1).header(HttpHeaders.IF_NONE_MATCH, "\"budget-1-1\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"budget-1-2\""))
+                .andExpect(jsonPath("$.remainingAmount").value(900));
+        verify(budgetService, never()).getBudgetsETag(); //no table version query for a single budget
+    }
+
+    @Test
+    void getBudgetById_NotModified() throws Exception {
+        Budget food = new Budget(CategoryType.FOOD, BigDecimal.valueOf(1000), BigDecimal.valueOf(900), null, null, "Within Limit");
+        when(budgetService.getBudgetById(1L)).thenReturn(food);
+        when(budgetService.getBudgetETag(food)).thenReturn("\"budget-1-2\"");
+
+        mockMvc.perform(get("/api/budgets/{id}", 1).header(HttpHeaders.IF_NONE_MATCH, "\"budget-1-2\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void getCategories_NotModified() throws Exception {
+        String eTag = mockMvc.perform(get("/api/budgets/categories/{type}", "income"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0]").value("SALARY"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/api/budgets/categories/{type}", "INCOME").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void getCategories_UnknownType() throws Exception {
+        mockMvc.perform(get("/api/budgets/categories/{type}", "unknown"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$").isEmpty());
+    }
+}
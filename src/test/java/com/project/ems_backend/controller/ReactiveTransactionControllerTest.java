@@ -0,0 +1,98 @@
+package com.project.ems_backend.controller;
+
+import com.project.ems_backend.model.CategoryType;
+import com.project.ems_backend.model.Transaction;
+import com.project.ems_backend.model.TransactionFilter;
+import com.project.ems_backend.model.TransactionType;
+import com.project.ems_backend.model.TransactionView;
+import com.project.ems_backend.service.ReactiveTransactionService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(ReactiveTransactionController.class)
+class ReactiveTransactionControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private ReactiveTransactionService reactiveTransactionService;
+
+    @Test
+    void testGetAllTransactions() throws Exception {
+        Transaction transaction = transaction(1L, "Groceries");
+        when(reactiveTransactionService.getFilteredTransactions(0, 10, "id", TransactionFilter.of(null, "gro", "startsWith")))
+                .thenReturn(Mono.just(new PageImpl<>(List.of(TransactionView.of(transaction)), PageRequest.of(0, 10), 1)));
+
+        MvcResult result = mockMvc.perform(get("/api/reactive/transactions").param("description", "gro").param("filterType", "startsWith"))
+                .andExpect(request().asyncStarted()) //the request thread is released until the Mono completes
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].description").value("Groceries"))
+                .andExpect(jsonPath("$.totalElements").value(1));
+    }
+
+    @Test
+    void testStreamTransactions() throws Exception {
+        when(reactiveTransactionService.streamTransactions(500, "id", null, "contains"))
+                .thenReturn(Flux.just(transaction(1L, "Groceries"), transaction(2L, "Train")));
+
+        MvcResult result = mockMvc.perform(get("/api/reactive/transactions/stream"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", MediaType.APPLICATION_NDJSON_VALUE))
+                .andExpect(content().string(org.hamcrest.Matchers.matchesPattern("(?s)\\{.*\"Groceries\".*}\n\\{.*\"Train\".*}\n")));
+    }
+
+    @Test
+    void testStreamTransactions_RejectsNullableSortKey() throws Exception {
+        when(reactiveTransactionService.streamTransactions(500, "description", null, "contains"))
+                .thenReturn(Flux.error(new IllegalArgumentException("Unsupported keyset sort key: description")));
+
+        MvcResult result = mockMvc.perform(get("/api/reactive/transactions/stream").param("sortBy", "description"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result)).andExpect(status().isBadRequest()); //as GET /api/transactions/scroll
+    }
+
+    @Test
+    void testGetTransactionById_Unknown() throws Exception {
+        when(reactiveTransactionService.getTransactionById(99L))
+                .thenReturn(Mono.error(new IllegalArgumentException("Transaction not found with id: 99")));
+
+        MvcResult result = mockMvc.perform(get("/api/reactive/transactions/{id}", 99))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result)).andExpect(status().isBadRequest());
+    }
+
+    private static Transaction transaction(Long id, String description) {
+        Transaction transaction = new Transaction(BigDecimal.TEN, TransactionType.EXPENSE, CategoryType.FOOD, description);
+        transaction.setId(id);
+        return transaction;
+    }
+}
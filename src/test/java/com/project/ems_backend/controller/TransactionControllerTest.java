@@ -2,22 +2,37 @@ package com.project.ems_backend.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.project.ems_backend.model.CategoryType;
+import com.project.ems_backend.model.CursorSlice;
 import com.project.ems_backend.model.Transaction;
+import com.project.ems_backend.model.TransactionFilter;
 import com.project.ems_backend.model.TransactionType;
+import com.project.ems_backend.model.TransactionView;
+import com.project.ems_backend.service.TransactionExportService;
+import com.project.ems_backend.service.TransactionImportService;
 import com.project.ems_backend.service.TransactionService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.io.OutputStream;
 import java.math.BigDecimal;
+import java.util.List;
+import java.util.Set;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -30,6 +45,12 @@ class TransactionControllerTest {
     @MockBean
     private TransactionService transactionService; //Creates mock version of TransactionService and injects mock into transactionController
 
+    @MockBean
+    private TransactionImportService transactionImportService;
+
+    @MockBean
+    private TransactionExportService transactionExportService;
+
     @Autowired
     private ObjectMapper objectMapper; // used to convert Java objects into JSON objects and vice-versa
 
@@ -78,6 +99,89 @@ class TransactionControllerTest {
                 .andExpect(jsonPath("$.description").value(transaction.getDescription()));
     }
 
+    @Test
+    void testCreateTransaction_FractionsOfACent() throws Exception {
+        transaction.setAmount(new BigDecimal("10.005")); //the column and the budget arithmetic keep two decimals
+
+        mockMvc.perform(post("/api/transactions")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(transaction)))
+                .andExpect(status().isBadRequest());
+        verifyNoInteractions(transactionService);
+    }
+
+    @Test
+    void testCreateTransactions() throws Exception {
+        List<Transaction> transactions = List.of(transaction, transaction);
+        when(transactionService.saveAllTransactions(anyList())).thenReturn(transactions);
+
+        mockMvc.perform(post("/api/transactions/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(transactions))) //JSON array of transactions
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].description").value(transaction.getDescription()));
+    }
+
+    @Test
+    void testGetAllTransactions_CombinedFilter() throws Exception {
+        TransactionFilter filter = new TransactionFilter(null, "gro", "startsWith", new BigDecimal("10"), new BigDecimal("500"),
+                Set.of(TransactionType.EXPENSE), Set.of(CategoryType.FOOD, CategoryType.TRAVEL));
+        when(transactionService.getFilteredTransactions(0, 10, "id", filter)).thenReturn(new PageImpl<>(List.of(TransactionView.of(transaction)), PageRequest.of(0, 10), 1));
+
+        mockMvc.perform(get("/api/transactions").param("description", "gro").param("filterType", "startsWith")
+                        .param("minAmount", "10").param("maxAmount", "500")
+                        .param("type", "EXPENSE").param("category", "FOOD", "TRAVEL")) //all conditions go to the server in one request
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id").value(transaction.getId()))
+                .andExpect(jsonPath("$.totalElements").value(1));
+    }
+
+    @Test
+    void testScrollTransactions() throws Exception {
+        CursorSlice<Transaction> slice = new CursorSlice<>(List.of(transaction), PageRequest.of(0, 1), true, "abc");
+        when(transactionService.scrollTransactions(1, "id", null, null, "contains")).thenReturn(slice);
+
+        mockMvc.perform(get("/api/transactions/scroll").param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id").value(transaction.getId()))
+                .andExpect(jsonPath("$.nextCursor").value("abc")) //token for the next request's "after" parameter
+                .andExpect(jsonPath("$.totalElements").doesNotExist()); //a slice has no total count
+    }
+
+    @Test
+    void testScrollTransactions_NullableSortKey() throws Exception {
+        when(transactionService.scrollTransactions(10, "description", null, null, "contains"))
+                .thenThrow(new IllegalArgumentException("Cannot scroll by description"));
+
+        mockMvc.perform(get("/api/transactions/scroll").param("sortBy", "description"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testExportTransactions() throws Exception {
+        doAnswer(invocation -> { //pretend the service streamed one CSV row
+            OutputStream output = invocation.getArgument(0);
+            output.write("amount,type,category,description,transactionDate\n100.0,EXPENSE,FOOD,Groceries,\n".getBytes());
+            return 1L;
+        }).when(transactionExportService).exportTransactions(any(OutputStream.class), eq("csv"));
+
+        MvcResult result = mockMvc.perform(get("/api/transactions/export").param("format", "csv"))
+                .andExpect(request().asyncStarted()) //the body is written asynchronously
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "text/csv"))
+                .andExpect(content().string(org.hamcrest.Matchers.containsString("Groceries")));
+    }
+
+    @Test
+    void testExportTransactions_UnknownFormat() throws Exception {
+        mockMvc.perform(get("/api/transactions/export").param("format", "xml"))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void testDeleteTransaction() throws Exception {
         mockMvc.perform(delete("/api/transactions/{id}", transaction.getId()))
@@ -0,0 +1,44 @@
+package com.project.ems_backend.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MoneyTest {
+
+    @Test
+    void toMinorUnits() {
+        assertEquals(12345, Money.toMinorUnits(new BigDecimal("123.45")));
+        assertEquals(12300, Money.toMinorUnits(new BigDecimal("123")));
+        assertEquals(12300, Money.toMinorUnits(new BigDecimal("1.23E+2")));
+        assertEquals(-50, Money.toMinorUnits(new BigDecimal("-0.5")));
+        assertEquals(100, Money.toMinorUnits(new BigDecimal("1.000"))); //trailing zeros are not a fraction of a cent
+    }
+
+    @Test
+    void toMinorUnits_RejectsInexactAmounts() {
+        assertThrows(IllegalArgumentException.class, () -> Money.toMinorUnits(new BigDecimal("0.001")));
+        assertThrows(IllegalArgumentException.class, () -> Money.toMinorUnits(new BigDecimal("1E+30"))); //doesn't fit in a long
+    }
+
+    @Test
+    void isMinorUnits() {
+        assertTrue(Money.isMinorUnits(new BigDecimal("10.50")));
+        assertTrue(Money.isMinorUnits(null)); //missing amounts are not this check's business
+        assertFalse(Money.isMinorUnits(new BigDecimal("10.005")));
+    }
+
+    @Test
+    void fromMinorUnits() {
+        assertEquals(new BigDecimal("-12.05"), Money.fromMinorUnits(-1205));
+    }
+
+    @Test
+    void budgetRemark() {
+        assertEquals("Overspent", Money.budgetRemark(-1, 1000));
+        assertEquals("Within Limit", Money.budgetRemark(999, 1000));
+        assertEquals("Budget Intact", Money.budgetRemark(1000, 1000));
+    }
+}
@@ -0,0 +1,130 @@
+package com.project.ems_backend.repository;
+
+import com.project.ems_backend.model.Budget;
+import com.project.ems_backend.model.BudgetView;
+import com.project.ems_backend.model.CategoryType;
+import com.project.ems_backend.model.Transaction;
+import com.project.ems_backend.model.TransactionType;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import java.math.BigDecimal;
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+class BudgetRepositoryTest {
+
+    @Autowired
+    private BudgetRepository budgetRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void sumAmountPerBudgetWindow() {
+        Date october1 = new GregorianCalendar(2024, Calendar.OCTOBER, 1).getTime();
+        Date october31 = new GregorianCalendar(2024, Calendar.OCTOBER, 31).getTime();
+
+        Budget food = budgetRepository.save(new Budget(CategoryType.FOOD, BigDecimal.valueOf(1000), BigDecimal.valueOf(1000), october1, october31, null));
+        Budget travel = budgetRepository.save(new Budget(CategoryType.TRAVEL, BigDecimal.valueOf(500), BigDecimal.valueOf(500), null, null, null));
+
+        transactionRepository.saveAll(List.of(
+                new Transaction(BigDecimal.valueOf(100), TransactionType.EXPENSE, CategoryType.FOOD, "In window", october1),
+                new Transaction(BigDecimal.valueOf(50), TransactionType.EXPENSE, CategoryType.FOOD, "Last day", october31),
+                new Transaction(BigDecimal.valueOf(999), TransactionType.EXPENSE, CategoryType.FOOD, "November",
+                        new GregorianCalendar(2024, Calendar.NOVEMBER, 1).getTime()),
+                new Transaction(BigDecimal.valueOf(30), TransactionType.EXPENSE, CategoryType.TRAVEL, "Any time",
+                        new GregorianCalendar(2020, Calendar.MARCH, 3).getTime())
+        ));
+
+        Map<Long, BigDecimal> totals = budgetRepository.sumAmountPerBudgetWindow(TransactionType.EXPENSE).stream()
+                .collect(Collectors.toMap(BudgetExpenseTotal::getBudgetId, BudgetExpenseTotal::getTotal));
+
+        assertEquals(0, BigDecimal.valueOf(150).compareTo(totals.get(food.getId()))); //November expense is outside the window
+        assertEquals(0, BigDecimal.valueOf(30).compareTo(totals.get(travel.getId()))); //no dates means no window
+    }
+
+    @Test
+    void findViewsBy_ReadsRowsWithoutManagedEntities() {
+        budgetRepository.save(new Budget(CategoryType.FOOD, BigDecimal.valueOf(1000), BigDecimal.valueOf(900), null, null, "Within Limit"));
+        budgetRepository.save(new Budget(CategoryType.TRAVEL, BigDecimal.valueOf(500), BigDecimal.valueOf(500), null, null, "Budget Intact"));
+        entityManager.flush();
+        entityManager.clear();
+
+        Page<BudgetView> page = budgetRepository.findViewsBy(PageRequest.of(0, 1, Sort.by("category")));
+
+        assertEquals(2, page.getTotalElements());
+        assertEquals(CategoryType.FOOD, page.getContent().get(0).category());
+        assertEquals("Within Limit", page.getContent().get(0).remark());
+        assertEquals(0, entityManager.unwrap(Session.class).getStatistics().getEntityCount()); //nothing joined the persistence context
+    }
+
+    @Test
+    void sumAmountPerBudgetWindow_BudgetWithoutExpenses() {
+        Budget shopping = budgetRepository.save(new Budget(CategoryType.SHOPPING, BigDecimal.valueOf(200), BigDecimal.valueOf(200), null, null, null));
+
+        List<BudgetExpenseTotal> totals = budgetRepository.sumAmountPerBudgetWindow(TransactionType.EXPENSE);
+
+        assertEquals(1, totals.size()); //LEFT JOIN keeps budgets without any transaction
+        assertEquals(shopping.getId(), totals.get(0).getBudgetId());
+        assertEquals(0, BigDecimal.ZERO.compareTo(totals.get(0).getTotal()));
+    }
+
+    @Test
+    void findTableVersion_ChangesWithEveryWrite() {
+        Budget food = budgetRepository.saveAndFlush(new Budget(CategoryType.FOOD, BigDecimal.valueOf(1000), BigDecimal.valueOf(1000), null, null, null));
+        Set<String> versions = new HashSet<>();
+        assertTrue(versions.add(version()));
+
+        budgetRepository.addToRemainingAmount(food.getId(), BigDecimal.valueOf(-10)); //bulk update bumps the row version in the database
+        assertTrue(versions.add(version()));
+        entityManager.clear(); //the managed copy still has the old version, as a new transaction wouldn't
+
+        Budget travel = budgetRepository.saveAndFlush(new Budget(CategoryType.TRAVEL, BigDecimal.valueOf(500), BigDecimal.valueOf(500), null, null, null));
+        assertTrue(versions.add(version()));
+
+        travel.setBudgetLimit(BigDecimal.valueOf(600));
+        budgetRepository.saveAndFlush(travel);
+        assertTrue(versions.add(version()));
+
+        budgetRepository.deleteById(food.getId());
+        budgetRepository.flush();
+        assertTrue(versions.add(version()));
+
+        Budget shopping = budgetRepository.saveAndFlush(new Budget(CategoryType.SHOPPING, BigDecimal.valueOf(200), BigDecimal.valueOf(200), null, null, null));
+        budgetRepository.deleteById(shopping.getId());
+        budgetRepository.flush();
+        assertFalse(versions.add(version())); //back to exactly the previous rows, so the same version (a 304 is still right)
+
+        assertEquals(version(), version()); //stable while nothing changes
+    }
+
+    // What updateBudget or the reload would do with a row read before a concurrent addToRemainingAmount committed
+    @Test
+    void entityWriteOverAConcurrentDeltaFails() {
+        Budget food = budgetRepository.saveAndFlush(new Budget(CategoryType.FOOD, BigDecimal.valueOf(1000), BigDecimal.valueOf(1000), null, null, null));
+        budgetRepository.addToRemainingAmount(food.getId(), BigDecimal.valueOf(-10));
+
+        food.setBudgetLimit(BigDecimal.valueOf(1200));
+        food.setRemainingAmount(BigDecimal.valueOf(1200)); //recomputed without the -10
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> budgetRepository.saveAndFlush(food));
+    }
+
+    private String version() {
+        BudgetTableVersion version = budgetRepository.findTableVersion();
+        return version.getBudgets() + "-" + version.getIdSum() + "-" + version.getChangeVersionSum();
+    }
+}
@@ -0,0 +1,123 @@
+package com.project.ems_backend.repository;
+
+import com.project.ems_backend.config.HibernateStatisticsEndpoint;
+import com.project.ems_backend.model.Budget;
+import com.project.ems_backend.model.CategoryType;
+import com.project.ems_backend.model.Transaction;
+import com.project.ems_backend.model.TransactionType;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Second-level cache behaviour against H2, with the production region configuration (ehcache.xml, see the test application.properties)
+@SpringBootTest
+class SecondLevelCacheTest {
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private BudgetRepository budgetRepository;
+
+    @Autowired
+    private TransactionRollupRepository rollupRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private HibernateStatisticsEndpoint statisticsEndpoint;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp(@Autowired EntityManagerFactory entityManagerFactory) {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @AfterEach
+    void tearDown() {
+        transactionRepository.deleteAll();
+        budgetRepository.deleteAll();
+    }
+
+    @Test
+    void findById_ServedFromCacheAfterFirstLoad() {
+        Transaction saved = transactionRepository.save(new Transaction(BigDecimal.TEN, TransactionType.EXPENSE, CategoryType.FOOD, "Lunch"));
+        statistics.clear();
+
+        transactionRepository.findById(saved.getId());
+        transactionRepository.findById(saved.getId());
+
+        assertEquals(0, statistics.getPrepareStatementCount()); //the insert already put the row into the cache
+        assertEquals(2, statistics.getDomainDataRegionStatistics("transaction").getHitCount());
+    }
+
+    @Test
+    void findFreshById_AlwaysReadsTheDatabase() {
+        Transaction saved = transactionRepository.save(new Transaction(BigDecimal.TEN, TransactionType.EXPENSE, CategoryType.FOOD, "Lunch"));
+        statistics.clear();
+
+        transactionRepository.findFreshById(saved.getId());
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void addToRemainingAmount_InvalidatesBudgets() {
+        Budget food = budgetRepository.save(new Budget(CategoryType.FOOD, BigDecimal.valueOf(1000), BigDecimal.valueOf(1000), null, null, null));
+        long versionBefore = budgetRepository.findById(food.getId()).orElseThrow().getChangeVersion(); //cached
+
+        transactionTemplate.executeWithoutResult(status -> budgetRepository.addToRemainingAmount(food.getId(), BigDecimal.valueOf(-100)));
+
+        Budget reloaded = budgetRepository.findById(food.getId()).orElseThrow();
+        assertEquals(0, BigDecimal.valueOf(900).compareTo(reloaded.getRemainingAmount()));
+        assertTrue(reloaded.getChangeVersion() > versionBefore); //so the budget's ETag (BudgetService.getBudgetETag) changes too
+    }
+
+    @Test
+    void findByCategory_CachedQueryInvalidatedByBudgetWrites() {
+        Budget food = budgetRepository.save(new Budget(CategoryType.FOOD, BigDecimal.valueOf(1000), BigDecimal.valueOf(1000), null, null, null));
+        budgetRepository.findByCategory(CategoryType.FOOD);
+        statistics.clear();
+
+        budgetRepository.findByCategory(CategoryType.FOOD);
+        assertEquals(1, statistics.getQueryCacheHitCount());
+
+        food.setCategory(CategoryType.TRAVEL);
+        budgetRepository.save(food);
+        assertTrue(budgetRepository.findByCategory(CategoryType.FOOD).isEmpty());
+    }
+
+    @Test
+    void rollupUpsert_KeepsOtherRegions() {
+        Transaction saved = transactionRepository.save(new Transaction(BigDecimal.TEN, TransactionType.EXPENSE, CategoryType.FOOD, "Lunch"));
+
+        transactionTemplate.executeWithoutResult(status -> rollupRepository.addToRollup(LocalDate.of(2024, 5, 1), "FOOD", "EXPENSE", BigDecimal.TEN, 1));
+        statistics.clear();
+        transactionRepository.findById(saved.getId());
+
+        assertEquals(0, statistics.getPrepareStatementCount()); //native statement declared its table, the transaction region survived
+        rollupRepository.deleteAll();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void statisticsEndpoint_ListsRegions() {
+        Map<String, Object> regions = (Map<String, Object>) statisticsEndpoint.statistics().get("secondLevelCache");
+
+        assertTrue(regions.keySet().containsAll(java.util.Set.of("budget", "transaction")));
+    }
+}
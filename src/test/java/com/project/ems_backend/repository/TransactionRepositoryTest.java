@@ -0,0 +1,164 @@
+package com.project.ems_backend.repository;
+
+import com.project.ems_backend.model.CategoryType;
+import com.project.ems_backend.model.Transaction;
+import com.project.ems_backend.model.TransactionType;
+import com.project.ems_backend.model.TransactionView;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest //boots only the JPA layer against the embedded H2 database
+class TransactionRepositoryTest {
+
+    private static final List<String> statements = new ArrayList<>(); // SQL Hibernate sent, see StatementCapture
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @TestConfiguration
+    static class StatementCapture {
+
+        @Bean
+        HibernatePropertiesCustomizer captureStatements() {
+            return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, (StatementInspector) sql -> {
+                statements.add(sql);
+                return sql;
+            });
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        transactionRepository.saveAll(List.of(
+                new Transaction(new BigDecimal("200.50"), TransactionType.EXPENSE, CategoryType.FOOD, "Groceries"),
+                new Transaction(new BigDecimal("99.50"), TransactionType.EXPENSE, CategoryType.FOOD, "Lunch"),
+                new Transaction(new BigDecimal("40.00"), TransactionType.EXPENSE, CategoryType.TRAVEL, "Bus"),
+                new Transaction(new BigDecimal("5000.00"), TransactionType.INCOME, CategoryType.SALARY, "Salary")
+        ));
+    }
+
+    @Test
+    void sumAmountByCategoryAndType() {
+        BigDecimal total = transactionRepository.sumAmountByCategoryAndType(CategoryType.FOOD, TransactionType.EXPENSE);
+
+        assertEquals(0, new BigDecimal("300.00").compareTo(total)); //compareTo ignores the scale the database returns
+    }
+
+    @Test
+    void sumAmountByCategoryAndType_NoRows() {
+        BigDecimal total = transactionRepository.sumAmountByCategoryAndType(CategoryType.SHOPPING, TransactionType.EXPENSE);
+
+        assertEquals(0, BigDecimal.ZERO.compareTo(total)); //COALESCE turns the empty SUM into zero instead of null
+    }
+
+    @Test
+    void sumAmountByCategoryAndTypeBetween() {
+        transactionRepository.save(new Transaction(new BigDecimal("75.00"), TransactionType.EXPENSE, CategoryType.FOOD, "Old dinner",
+                new GregorianCalendar(2023, Calendar.JANUARY, 15).getTime()));
+
+        BigDecimal total = transactionRepository.sumAmountByCategoryAndTypeBetween(CategoryType.FOOD, TransactionType.EXPENSE,
+                new GregorianCalendar(2023, Calendar.JANUARY, 1).getTime(), new GregorianCalendar(2023, Calendar.JANUARY, 31).getTime());
+
+        assertEquals(0, new BigDecimal("75.00").compareTo(total)); //today's FOOD expenses are outside the January 2023 window
+    }
+
+    @Test
+    void streamReportRows() {
+        try (Stream<TransactionReportRow> rows = transactionRepository.streamReportRows()) {
+            List<TransactionReportRow> groceries = rows.filter(row -> "groceries".equals(row.getDescription())).toList(); //lower-cased description
+
+            assertEquals(1, groceries.size());
+            assertEquals(CategoryType.FOOD, groceries.get(0).getCategory());
+            assertEquals(0, new BigDecimal("200.50").compareTo(groceries.get(0).getAmount()));
+            assertNotNull(groceries.get(0).getTransactionDate());
+        }
+    }
+
+    @Test
+    void descriptionNormalized_MaintainedOnSaveAndUpdate() {
+        Transaction transaction = transactionRepository.saveAndFlush(
+                new Transaction(new BigDecimal("12.00"), TransactionType.EXPENSE, CategoryType.FOOD, "Coffee AT Work"));
+        assertEquals("coffee at work", transaction.getDescriptionNormalized());
+
+        transaction.setDescription("Team LUNCH");
+        transaction = transactionRepository.saveAndFlush(transaction);
+
+        assertEquals("team lunch", transaction.getDescriptionNormalized());
+    }
+
+    @Test
+    void findViews_ReadsRowsWithoutManagedEntities() {
+        transactionRepository.flush();
+        entityManager.clear();
+
+        Page<TransactionView> page = transactionRepository.findViews(TransactionSpecifications.categoryIn(List.of(CategoryType.FOOD)),
+                PageRequest.of(0, 1, Sort.by(Sort.Direction.DESC, "amount")));
+
+        assertEquals(2, page.getTotalElements());
+        assertEquals(List.of("Groceries"), page.map(TransactionView::description).getContent());
+        assertEquals(TransactionType.EXPENSE, page.getContent().get(0).type());
+        assertEquals(0, entityManager.unwrap(Session.class).getStatistics().getEntityCount()); //nothing joined the persistence context
+    }
+
+    @Test
+    void backfillDescriptionNormalized() {
+        transactionRepository.flush(); //the rows have to be in the table before they can be reset behind Hibernate's back
+        jdbcTemplate.update("UPDATE transaction SET description_normalized = NULL");
+
+        int updated = transactionRepository.backfillDescriptionNormalized();
+
+        assertEquals(4, updated);
+        assertEquals(List.of("bus", "groceries", "lunch", "salary"),
+                jdbcTemplate.queryForList("SELECT description_normalized FROM transaction ORDER BY description_normalized", String.class));
+    }
+
+    // The prefix and equals filters compare the plain indexed column against a constant, so H2 plans an index range
+    // scan; the old LOWER(description) form can only be answered by reading every row. The plan is taken of the
+    // statement Hibernate actually sent for the Specification, so it checks the filters and not a copy of them
+    @Test
+    void descriptionFilters_UseNormalizedIndex() {
+        assertIndexed(TransactionSpecifications.description("Gro", "startsWith"), "gro%");
+        assertIndexed(TransactionSpecifications.description("LUNCH", "equals"), "lunch");
+    }
+
+    private void assertIndexed(Specification<Transaction> filter, String value) {
+        transactionRepository.flush(); //the setUp inserts aren't part of the capture
+        statements.clear();
+        assertFalse(transactionRepository.findAll(filter).isEmpty());
+
+        List<String> selects = statements.stream().filter(sql -> sql.startsWith("select")).toList();
+        assertEquals(1, selects.size(), selects::toString);
+        String plan = jdbcTemplate.queryForObject("EXPLAIN " + selects.get(0), String.class, value).toLowerCase();
+        assertTrue(plan.contains("idx_transaction_description_normalized"), plan);
+        assertFalse(plan.contains("tablescan"), plan);
+    }
+}
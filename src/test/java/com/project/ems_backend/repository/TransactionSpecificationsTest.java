@@ -0,0 +1,147 @@
+package com.project.ems_backend.repository;
+
+import com.project.ems_backend.model.CategoryType;
+import com.project.ems_backend.model.Transaction;
+import com.project.ems_backend.model.TransactionFilter;
+import com.project.ems_backend.model.TransactionType;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+class TransactionSpecificationsTest {
+
+    private static final List<String> statements = new ArrayList<>(); // SQL Hibernate sent, see StatementCapture
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @TestConfiguration
+    static class StatementCapture {
+
+        @Bean
+        HibernatePropertiesCustomizer captureStatements() {
+            return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, (StatementInspector) sql -> {
+                statements.add(sql);
+                return sql;
+            });
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        transactionRepository.saveAll(List.of(
+                new Transaction(new BigDecimal("200.50"), TransactionType.EXPENSE, CategoryType.FOOD, "Groceries"),
+                new Transaction(new BigDecimal("99.50"), TransactionType.EXPENSE, CategoryType.FOOD, "Lunch"),
+                new Transaction(new BigDecimal("40.00"), TransactionType.EXPENSE, CategoryType.TRAVEL, "Bus"),
+                new Transaction(new BigDecimal("15.00"), TransactionType.EXPENSE, CategoryType.TRAVEL, "Bus to work"),
+                new Transaction(new BigDecimal("5000.00"), TransactionType.INCOME, CategoryType.SALARY, "Salary")
+        ));
+        transactionRepository.flush();
+        statements.clear();
+    }
+
+    @Test
+    void matching_CombinesEveryCondition() {
+        TransactionFilter filter = new TransactionFilter(null, "BUS", "startsWith", new BigDecimal("20"), new BigDecimal("100"),
+                Set.of(TransactionType.EXPENSE), Set.of(CategoryType.TRAVEL, CategoryType.FOOD));
+
+        assertEquals(List.of("Bus"), descriptions(filter));
+    }
+
+    @Test
+    void matching_AmountBoundsAreInclusiveAndOptional() {
+        assertEquals(List.of("Lunch", "Bus"), descriptions(new TransactionFilter(null, null, null,
+                new BigDecimal("40.00"), new BigDecimal("99.5"), null, null)));
+        assertEquals(List.of("Salary"), descriptions(new TransactionFilter(null, null, null, new BigDecimal("1000"), null, null, null)));
+        assertEquals(List.of("Bus to work"), descriptions(new TransactionFilter(null, null, null, null, new BigDecimal("15"), null, null)));
+    }
+
+    @Test
+    void matching_IdAndDescriptionTogether() {
+        Long lunchId = transactionRepository.findAll(TransactionSpecifications.description("lunch", "equals")).get(0).getId();
+
+        assertEquals(List.of("Lunch"), descriptions(new TransactionFilter(lunchId, "lun", "startsWith", null, null, null, null)));
+        assertEquals(List.of(), descriptions(new TransactionFilter(lunchId, "bus", "startsWith", null, null, null, null)));
+    }
+
+    @Test
+    void matching_DescriptionFiltersIgnoreCase() {
+        assertEquals(List.of("Groceries"), descriptions(TransactionFilter.of(null, "gRO", "startsWith")));
+        assertEquals(List.of("Lunch"), descriptions(TransactionFilter.of(null, "LUNCH", "equals")));
+        assertEquals(4, descriptions(TransactionFilter.of(null, "lunch", "notEquals")).size());
+        assertEquals(List.of("Bus", "Bus to work"), descriptions(TransactionFilter.of(null, "BUS", "contains")));
+        assertEquals(5, descriptions(TransactionFilter.of(null, "bus", "unknown")).size()); //unknown filter types list everything
+    }
+
+    // The filter is one statement (plus the page count), never a page of everything filtered afterwards,
+    // and H2 answers it through an index instead of reading the whole table
+    @Test
+    void matching_IsOneIndexedQuery() {
+        assertIndexed(new TransactionFilter(null, null, null, new BigDecimal("20"), new BigDecimal("100"), null, null),
+                "idx_transaction_amount");
+        assertIndexed(new TransactionFilter(null, null, null, null, null, Set.of(TransactionType.EXPENSE), Set.of(CategoryType.TRAVEL)),
+                "idx_transaction_category_type_date");
+        assertIndexed(new TransactionFilter(null, "bus", "startsWith", null, null, Set.of(TransactionType.EXPENSE), null),
+                "idx_transaction_description_normalized");
+        assertIndexed(new TransactionFilter(null, "bus", "startsWith", new BigDecimal("20"), new BigDecimal("100"),
+                Set.of(TransactionType.EXPENSE), Set.of(CategoryType.TRAVEL, CategoryType.FOOD)), "idx_transaction_");
+    }
+
+    private void assertIndexed(TransactionFilter filter, String index) {
+        statements.clear();
+        transactionRepository.findAll(TransactionSpecifications.matching(filter), PageRequest.of(0, 1)); //one row per page, so the count runs too
+
+        List<String> selects = statements.stream().filter(sql -> sql.startsWith("select")).toList();
+        assertEquals(2, selects.size(), selects::toString); //the page and its count
+        for (String sql : selects) {
+            String plan = explain(sql, filter);
+            assertTrue(plan.contains(index), plan);
+            assertFalse(plan.contains("tablescan"), plan);
+        }
+    }
+
+    // EXPLAIN of the statement exactly as Hibernate sent it. Values go in the order TransactionSpecifications.matching adds
+    // the conditions (only startsWith descriptions here), then offset/limit; NULLs would let H2 fold the conditions away
+    private String explain(String sql, TransactionFilter filter) {
+        List<Object> values = new ArrayList<>();
+        if (filter.description() != null) {
+            values.add(filter.description() + "%");
+        }
+        Stream.of(filter.minAmount(), filter.maxAmount()).filter(Objects::nonNull).forEach(values::add);
+        Stream.ofNullable(filter.types()).flatMap(Set::stream).map(Enum::name).forEach(values::add);
+        Stream.ofNullable(filter.categories()).flatMap(Set::stream).map(Enum::name).forEach(values::add);
+        while (values.size() < sql.chars().filter(c -> c == '?').count()) {
+            values.add(1);
+        }
+        return jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class, values.toArray()).toLowerCase();
+    }
+
+    private List<String> descriptions(TransactionFilter filter) {
+        Page<Transaction> page = transactionRepository.findAll(TransactionSpecifications.matching(filter.normalized()),
+                PageRequest.of(0, 10, Sort.by("id")));
+        return page.map(Transaction::getDescription).getContent();
+    }
+}
@@ -0,0 +1,64 @@
+package com.project.ems_backend.service;
+
+import com.project.ems_backend.model.Budget;
+import com.project.ems_backend.model.BudgetOutboxEvent;
+import com.project.ems_backend.model.CategoryType;
+import com.project.ems_backend.repository.BudgetOutboxRepository;
+import com.project.ems_backend.repository.BudgetRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataJpaTest //the locking query and the atomic budget update run against H2
+class BudgetOutboxWorkerTest {
+
+    @Autowired
+    private BudgetOutboxRepository outboxRepository;
+
+    @Autowired
+    private BudgetRepository budgetRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void flush_NetsEventsPerBudgetAndRemovesThem() {
+        Budget food = budgetRepository.save(new Budget(CategoryType.FOOD, BigDecimal.valueOf(1000), BigDecimal.valueOf(1000), null, null, "Budget Intact"));
+        Budget travel = budgetRepository.save(new Budget(CategoryType.TRAVEL, BigDecimal.valueOf(100), BigDecimal.valueOf(100), null, null, "Budget Intact"));
+        outboxRepository.saveAll(List.of(
+                new BudgetOutboxEvent(food.getId(), new BigDecimal("-100.00")),
+                new BudgetOutboxEvent(travel.getId(), new BigDecimal("-150.00")),
+                new BudgetOutboxEvent(food.getId(), new BigDecimal("-50.00")),
+                new BudgetOutboxEvent(food.getId(), new BigDecimal("20.00")) //a reversed expense
+        ));
+
+        long applied = new BudgetOutboxWorker(outboxRepository, budgetRepository, transactionManager, true, 3).flush(); //two batches
+        entityManager.clear();
+
+        assertEquals(4, applied);
+        assertEquals(0, outboxRepository.count());
+        assertEquals(0, new BigDecimal("870.00").compareTo(budgetRepository.findById(food.getId()).orElseThrow().getRemainingAmount()));
+        Budget overspent = budgetRepository.findById(travel.getId()).orElseThrow();
+        assertEquals(0, new BigDecimal("-50.00").compareTo(overspent.getRemainingAmount()));
+        assertEquals("Overspent", overspent.getRemark());
+    }
+
+    @Test
+    void flush_IgnoresEventsOfDeletedBudgets() {
+        outboxRepository.save(new BudgetOutboxEvent(12345L, new BigDecimal("-10.00")));
+
+        new BudgetOutboxWorker(outboxRepository, budgetRepository, transactionManager, true, 100).flush();
+
+        assertEquals(0, outboxRepository.count());
+    }
+}
@@ -0,0 +1,129 @@
+package com.project.ems_backend.service;
+
+import com.project.ems_backend.model.Budget;
+import com.project.ems_backend.model.CategoryType;
+import com.project.ems_backend.model.Transaction;
+import com.project.ems_backend.model.TransactionType;
+import com.project.ems_backend.repository.BudgetRepository;
+import com.project.ems_backend.repository.TransactionRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Hammers one budget with parallel writes through the real service + H2 stack and checks that no update is lost
+@SpringBootTest
+class BudgetServiceConcurrencyTest {
+
+    private static final int WRITERS = 200;
+    private static final int TRANSACTIONS_PER_WRITER = 5;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private BudgetRepository budgetRepository;
+
+    @Autowired
+    private BudgetCache budgetCache;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @AfterEach
+    void cleanUp() {
+        transactionRepository.deleteAll();
+        budgetRepository.deleteAll();
+        budgetCache.invalidateAll(); //budgets were removed behind the service's back
+    }
+
+    @Test
+    void remainingAmountStaysExactUnderConcurrentWrites() throws Exception {
+        Budget budget = budgetRepository.save(new Budget(CategoryType.FOOD, BigDecimal.valueOf(100000), BigDecimal.valueOf(100000), null, null, "Budget Intact"));
+
+        // Every writer saves a few expenses at the same time; half of the saved ones are then deleted concurrently
+        List<Long> savedIds = runConcurrently(writer -> {
+            List<Long> ids = new ArrayList<>();
+            for (int i = 0; i < TRANSACTIONS_PER_WRITER; i++) {
+                Transaction saved = transactionService.saveTransaction(
+                        new Transaction(new BigDecimal("10.25"), TransactionType.EXPENSE, CategoryType.FOOD, "writer " + writer));
+                ids.add(saved.getId());
+            }
+            return ids;
+        });
+        assertEquals(WRITERS * TRANSACTIONS_PER_WRITER, savedIds.size());
+
+        List<Long> toDelete = savedIds.subList(0, savedIds.size() / 2);
+        runConcurrently(writer -> {
+            for (int i = writer; i < toDelete.size(); i += WRITERS) {
+                transactionService.deleteTransaction(toDelete.get(i));
+            }
+            return List.of();
+        });
+
+        int remainingTransactions = savedIds.size() - toDelete.size();
+        BigDecimal expected = BigDecimal.valueOf(100000).subtract(new BigDecimal("10.25").multiply(BigDecimal.valueOf(remainingTransactions)));
+        Budget reloaded = budgetRepository.findById(budget.getId()).orElseThrow();
+
+        assertEquals(0, expected.compareTo(reloaded.getRemainingAmount()), "expected " + expected + " but was " + reloaded.getRemainingAmount());
+        assertEquals("Within Limit", reloaded.getRemark());
+    }
+
+    // The client sends a time of day, the budget window ends at midnight of the same day: saving must count the
+    // expense exactly like the reload and the delete do, or the balance drifts
+    @Test
+    void expenseOnTheBudgetsEndDateIsCountedOnSaveAndDelete() {
+        ZoneId zone = ZoneId.systemDefault();
+        LocalDate endDay = LocalDate.of(2024, 3, 31);
+        Budget budget = budgetRepository.save(new Budget(CategoryType.FOOD, BigDecimal.valueOf(500), BigDecimal.valueOf(500),
+                Date.from(endDay.withDayOfMonth(1).atStartOfDay(zone).toInstant()), Date.from(endDay.atStartOfDay(zone).toInstant()),
+                "Budget Intact"));
+
+        Transaction saved = transactionService.saveTransaction(new Transaction(new BigDecimal("120.00"), TransactionType.EXPENSE,
+                CategoryType.FOOD, "dinner", Date.from(endDay.atTime(19, 30).atZone(zone).toInstant())));
+        assertEquals(0, new BigDecimal("380").compareTo(budgetRepository.findById(budget.getId()).orElseThrow().getRemainingAmount()));
+
+        transactionService.deleteTransaction(saved.getId());
+        assertEquals(0, new BigDecimal("500").compareTo(budgetRepository.findById(budget.getId()).orElseThrow().getRemainingAmount()));
+    }
+
+    // Starts all writers together and collects what each one returns; any exception fails the test
+    private List<Long> runConcurrently(Writer writer) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(WRITERS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<List<Long>>> futures = new ArrayList<>();
+            for (int w = 0; w < WRITERS; w++) {
+                int id = w;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return writer.write(id);
+                }));
+            }
+            start.countDown();
+
+            List<Long> results = new ArrayList<>();
+            for (Future<List<Long>> future : futures) {
+                results.addAll(future.get(60, TimeUnit.SECONDS));
+            }
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @FunctionalInterface
+    private interface Writer {
+        List<Long> write(int writer) throws Exception;
+    }
+}
@@ -1,19 +1,27 @@
 package com.project.ems_backend.service;
 
 import com.project.ems_backend.model.Budget;
+import com.project.ems_backend.model.BudgetCacheStats;
+import com.project.ems_backend.model.BudgetReloadResult;
+import com.project.ems_backend.model.BudgetView;
 import com.project.ems_backend.model.CategoryType;
 import com.project.ems_backend.model.Transaction;
 import com.project.ems_backend.model.TransactionType;
+import com.project.ems_backend.model.BudgetOutboxEvent;
+import com.project.ems_backend.repository.BudgetOutboxRepository;
 import com.project.ems_backend.repository.BudgetRepository;
+import com.project.ems_backend.repository.BudgetExpenseTotal;
 import com.project.ems_backend.repository.TransactionRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.math.BigDecimal;
 import java.util.*;
@@ -29,12 +37,18 @@ class BudgetServiceTest {
     @Mock
     private TransactionRepository transactionRepository;
 
-    @InjectMocks
+    @Mock
+    private BudgetOutboxRepository outboxRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager; //the recount's TransactionTemplate commits against it
+
     private BudgetService budgetService;
 
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        budgetService = new BudgetService(budgetRepository, transactionRepository, new BudgetCache(budgetRepository), outboxRepository, transactionManager, false); //real cache over the mocked repository
     }
 
     @Test
@@ -59,20 +73,20 @@ class BudgetServiceTest {
         Budget result = budgetService.getBudgetById(1L);
 
         assertNotNull(result);
-        verify(budgetRepository, times(1)).findById(1L);
+        verify(budgetRepository, times(1)).findById(1L); //second-level cache, not a forced database read
     }
 
 
     @Test
     void getAllBudgets() {
-        Budget budget = new Budget();
-        Page<Budget> budgetPage = new PageImpl<>(Collections.singletonList(budget)); //creates a list with a single budget object and passes it to PageImpl
-        when(budgetRepository.findAll(any(PageRequest.class))).thenReturn(budgetPage);
+        BudgetView budget = new BudgetView(1L, CategoryType.FOOD, BigDecimal.TEN, BigDecimal.TEN, null, null, null);
+        Page<BudgetView> budgetPage = new PageImpl<>(Collections.singletonList(budget)); //creates a list with a single budget row and passes it to PageImpl
+        when(budgetRepository.findViewsBy(any(PageRequest.class))).thenReturn(budgetPage);
 
-        Page<Budget> result = budgetService.getAllBudgets(0, 10, "category");
+        Page<BudgetView> result = budgetService.getAllBudgets(0, 10, "category");
 
         assertEquals(1, result.getTotalElements());
-        verify(budgetRepository, times(1)).findAll(any(PageRequest.class));
+        verify(budgetRepository, times(1)).findViewsBy(any(PageRequest.class));
     }
 
     @Test
@@ -87,6 +101,15 @@ class BudgetServiceTest {
         verify(budgetRepository, times(1)).save(budget);
     }
 
+    @Test
+    void saveBudget_RejectsFractionsOfACentBeforeSaving() {
+        Budget budget = new Budget();
+        budget.setBudgetLimit(new BigDecimal("10.005"));
+
+        assertThrows(IllegalArgumentException.class, () -> budgetService.saveBudget(budget));
+        verify(budgetRepository, never()).save(any(Budget.class)); //no row left behind without its remark
+    }
+
     @Test
     void updateBudget() {
         Budget existingBudget = new Budget();
@@ -99,14 +122,15 @@ class BudgetServiceTest {
         updatedBudget.setBudgetLimit(BigDecimal.valueOf(2000));
         updatedBudget.setRemainingAmount(BigDecimal.valueOf(2000));
 
-        when(budgetRepository.findById(1L)).thenReturn(Optional.of(existingBudget));
+        when(budgetRepository.findFreshById(1L)).thenReturn(Optional.of(existingBudget));
         when(budgetRepository.save(any(Budget.class))).thenReturn(existingBudget);
+        when(transactionRepository.sumAmountByCategoryAndType(CategoryType.FOOD, TransactionType.EXPENSE)).thenReturn(BigDecimal.ZERO); //no expenses recorded yet
 
         Budget result = budgetService.updateBudget(1L, updatedBudget);
 
         assertEquals(BigDecimal.valueOf(2000), result.getRemainingAmount());
         assertEquals(BigDecimal.valueOf(2000), result.getBudgetLimit());
-        verify(budgetRepository, times(1)).findById(1L);
+        verify(budgetRepository, times(1)).findFreshById(1L);
         verify(budgetRepository, times(1)).save(existingBudget);
     }
 
@@ -117,12 +141,8 @@ class BudgetServiceTest {
         budget.setCategory(CategoryType.FOOD);
         budget.setBudgetLimit(BigDecimal.valueOf(2000));
 
-        List<Transaction> expenses = Arrays.asList(
-                new Transaction(BigDecimal.valueOf(200), TransactionType.EXPENSE, CategoryType.FOOD, "test"),
-                new Transaction(BigDecimal.valueOf(300), TransactionType.EXPENSE, CategoryType.FOOD, "test1")
-        );
-
-        when(transactionRepository.findByCategoryAndType(CategoryType.FOOD, TransactionType.EXPENSE)).thenReturn(expenses);
+        // Total of the FOOD expenses (200 + 300) as returned by the SUM query
+        when(transactionRepository.sumAmountByCategoryAndType(CategoryType.FOOD, TransactionType.EXPENSE)).thenReturn(BigDecimal.valueOf(500));
 
         budgetService.updateRemainingAmount(budget); // Call the method to update the remaining amount
         assertEquals(BigDecimal.valueOf(1500), budget.getRemainingAmount()); // Check if the remaining amount is calculated correctly
@@ -131,37 +151,61 @@ class BudgetServiceTest {
     @Test
     void updateAllBudgetsRemainingAmount(){
         Budget budget1 = new Budget();
+        budget1.setCategory(CategoryType.FOOD);
         budget1.setBudgetLimit(BigDecimal.valueOf(1000));
 
         Budget budget2 = new Budget();
+        budget2.setCategory(CategoryType.TRAVEL);
         budget2.setBudgetLimit(BigDecimal.valueOf(2000));
 
+        budget1.setId(1L);
+        budget2.setId(2L);
+
+        BudgetExpenseTotal foodTotal = mock(BudgetExpenseTotal.class); //only the FOOD budget has expenses in its window
+        when(foodTotal.getBudgetId()).thenReturn(1L);
+        when(foodTotal.getTotal()).thenReturn(BigDecimal.valueOf(400));
+
         List<Budget> budgets = Arrays.asList(budget1, budget2);
         when(budgetRepository.findAll()).thenReturn(budgets);
+        when(budgetRepository.sumAmountPerBudgetWindow(TransactionType.EXPENSE)).thenReturn(List.of(foodTotal));
 
-        budgetService.updateAllBudgetsRemainingAmounts();
+        BudgetReloadResult result = budgetService.updateAllBudgetsRemainingAmounts();
 
+        assertEquals(BigDecimal.valueOf(600), budget1.getRemainingAmount()); //1000-400
+        assertEquals(BigDecimal.valueOf(2000), budget2.getRemainingAmount()); //no expenses
+        assertEquals(2, result.getBudgetsScanned());
+        assertEquals(2, result.getBudgetsUpdated());
         verify(budgetRepository, times(1)).findAll();
-        verify(budgetRepository, times(2)).save(any(Budget.class));
+        verify(budgetRepository, times(1)).sumAmountPerBudgetWindow(TransactionType.EXPENSE); //one grouped query instead of one per budget
+        verify(budgetRepository, never()).save(any(Budget.class)); //written back by the batched flush, not row by row
     }
 
 
     @Test
     void calculateTotalExpensesForCategory() {
-        List<Transaction> transactions = Arrays.asList(
-                new Transaction(BigDecimal.valueOf(200), TransactionType.EXPENSE, CategoryType.ENTERTAINMENT, "test1"),
-                new Transaction(BigDecimal.valueOf(300), TransactionType.EXPENSE, CategoryType.ENTERTAINMENT, "test2")
-        );
-        when(transactionRepository.findByCategoryAndType(CategoryType.ENTERTAINMENT, TransactionType.EXPENSE))
-                .thenReturn(transactions);
+        when(transactionRepository.sumAmountByCategoryAndType(CategoryType.ENTERTAINMENT, TransactionType.EXPENSE))
+                .thenReturn(BigDecimal.valueOf(500));
 
-        BigDecimal result = budgetService.calculateTotalExpensesForCategory(CategoryType.ENTERTAINMENT);
+        BigDecimal result = budgetService.calculateTotalExpensesForCategory(CategoryType.ENTERTAINMENT, null, null); //no window means all time
 
         assertEquals(BigDecimal.valueOf(500), result);
-        verify(transactionRepository, times(1)).findByCategoryAndType(CategoryType.ENTERTAINMENT, TransactionType.EXPENSE);
+        verify(transactionRepository, times(1)).sumAmountByCategoryAndType(CategoryType.ENTERTAINMENT, TransactionType.EXPENSE);
 
     }
 
+    @Test
+    void calculateTotalExpensesForCategory_WithinWindow() {
+        Date start = new GregorianCalendar(2024, Calendar.OCTOBER, 1).getTime();
+        Date end = new GregorianCalendar(2024, Calendar.OCTOBER, 31).getTime();
+        when(transactionRepository.sumAmountByCategoryAndTypeBetween(CategoryType.FOOD, TransactionType.EXPENSE, start, end))
+                .thenReturn(BigDecimal.valueOf(120));
+
+        BigDecimal result = budgetService.calculateTotalExpensesForCategory(CategoryType.FOOD, start, end);
+
+        assertEquals(BigDecimal.valueOf(120), result);
+        verify(transactionRepository, never()).sumAmountByCategoryAndType(any(), any()); //the all-time sum is not used for a windowed budget
+    }
+
     @Test
     void deleteBudget() {
         Long budgetId = 1L;
@@ -186,14 +230,239 @@ class BudgetServiceTest {
 
         Transaction transaction = new Transaction(BigDecimal.valueOf(200), TransactionType.EXPENSE, CategoryType.FOOD, "test");
         Budget budget = new Budget();
+        budget.setId(1L);
         budget.setBudgetLimit(BigDecimal.valueOf(1000));
         budget.setRemainingAmount(BigDecimal.valueOf(800)); // Assume expenses already deducted
         when(budgetRepository.findByCategory(CategoryType.FOOD)).thenReturn(Optional.of(budget));
 
         budgetService.reverseBudgetForTransaction(transaction);
 
-        verify(budgetRepository, times(1)).save(budget);
-        assertEquals(BigDecimal.valueOf(1000), budget.getRemainingAmount()); //800+200 =1000
+        verify(budgetRepository, times(1)).addToRemainingAmount(1L, BigDecimal.valueOf(200)); //200 is added back in the database (800+200 =1000)
+        verify(budgetRepository, never()).save(any(Budget.class)); //no read-modify-write of the entity
+    }
+
+    @Test
+    void updateBudgetForTransaction() {
+        Transaction transaction = new Transaction(BigDecimal.valueOf(100), TransactionType.EXPENSE, CategoryType.FOOD, "test");
+        Budget budget = new Budget();
+        budget.setId(1L);
+        when(budgetRepository.findByCategory(CategoryType.FOOD)).thenReturn(Optional.of(budget));
+
+        budgetService.updateBudgetForTransaction(transaction);
+
+        verify(budgetRepository, times(1)).addToRemainingAmount(1L, BigDecimal.valueOf(-100)); //subtracted atomically
+    }
+
+    @Test
+    void updateBudgetsForTransactions() {
+        Budget food = new Budget();
+        food.setId(1L);
+        food.setCategory(CategoryType.FOOD);
+        Budget travel = new Budget();
+        travel.setId(2L);
+        travel.setCategory(CategoryType.TRAVEL);
+        when(budgetRepository.findByCategory(CategoryType.FOOD)).thenReturn(Optional.of(food));
+        when(budgetRepository.findByCategory(CategoryType.TRAVEL)).thenReturn(Optional.of(travel));
+
+        budgetService.updateBudgetsForTransactions(List.of(
+                new Transaction(BigDecimal.valueOf(100), TransactionType.EXPENSE, CategoryType.FOOD, "a"),
+                new Transaction(BigDecimal.valueOf(50), TransactionType.EXPENSE, CategoryType.FOOD, "b"),
+                new Transaction(BigDecimal.valueOf(20), TransactionType.EXPENSE, CategoryType.TRAVEL, "c"),
+                new Transaction(BigDecimal.valueOf(900), TransactionType.INCOME, CategoryType.SALARY, "d")
+        ));
+
+        verify(budgetRepository, times(1)).findByCategory(CategoryType.FOOD); //each budget is looked up once, the second FOOD row hits the cache
+        verify(budgetRepository, times(1)).findByCategory(CategoryType.TRAVEL);
+        verify(budgetRepository, times(1)).addToRemainingAmount(1L, new BigDecimal("-150.00")); //both FOOD expenses netted into one update
+        verify(budgetRepository, times(1)).addToRemainingAmount(2L, new BigDecimal("-20.00"));
+        verifyNoMoreInteractions(budgetRepository);
+    }
+
+    @Test
+    void updateBudgetForTransaction_CachesBudget() {
+        Budget budget = new Budget();
+        budget.setId(1L);
+        when(budgetRepository.findByCategory(CategoryType.FOOD)).thenReturn(Optional.of(budget));
+
+        budgetService.updateBudgetForTransaction(new Transaction(BigDecimal.valueOf(10), TransactionType.EXPENSE, CategoryType.FOOD, "a"));
+        budgetService.updateBudgetForTransaction(new Transaction(BigDecimal.valueOf(20), TransactionType.EXPENSE, CategoryType.FOOD, "b"));
+
+        verify(budgetRepository, times(1)).findByCategory(CategoryType.FOOD); //second write pays no budget SELECT
+        BudgetCacheStats stats = budgetService.getBudgetCacheStats();
+        assertEquals(1, stats.getHits());
+        assertEquals(1, stats.getMisses());
+    }
+
+    @Test
+    void saveBudget_WritesThroughToCache() {
+        Budget budget = new Budget();
+        budget.setId(1L);
+        budget.setCategory(CategoryType.FOOD);
+        budget.setBudgetLimit(BigDecimal.valueOf(1000));
+        budget.setRemainingAmount(BigDecimal.valueOf(1000));
+        when(budgetRepository.save(any(Budget.class))).thenReturn(budget);
+
+        budgetService.saveBudget(budget);
+        budgetService.updateBudgetForTransaction(new Transaction(BigDecimal.valueOf(10), TransactionType.EXPENSE, CategoryType.FOOD, "a"));
+
+        verify(budgetRepository, never()).findByCategory(any());
+        verify(budgetRepository, times(1)).addToRemainingAmount(1L, BigDecimal.valueOf(-10));
+    }
+
+    @Test
+    void updateBudget_MovesCacheEntryToNewCategory() {
+        Budget existingBudget = new Budget();
+        existingBudget.setId(1L);
+        existingBudget.setCategory(CategoryType.FOOD);
+        existingBudget.setBudgetLimit(BigDecimal.valueOf(1000));
+        when(budgetRepository.findByCategory(CategoryType.FOOD)).thenReturn(Optional.of(existingBudget));
+        budgetService.updateBudgetForTransaction(new Transaction(BigDecimal.valueOf(10), TransactionType.EXPENSE, CategoryType.FOOD, "a")); //caches FOOD
+
+        Budget updatedBudget = new Budget();
+        updatedBudget.setCategory(CategoryType.TRAVEL);
+        updatedBudget.setBudgetLimit(BigDecimal.valueOf(1000));
+        when(budgetRepository.findFreshById(1L)).thenReturn(Optional.of(existingBudget));
+        when(budgetRepository.save(any(Budget.class))).thenReturn(existingBudget);
+        when(transactionRepository.sumAmountByCategoryAndType(CategoryType.TRAVEL, TransactionType.EXPENSE)).thenReturn(BigDecimal.ZERO);
+        when(budgetRepository.findByCategory(CategoryType.FOOD)).thenReturn(Optional.empty());
+        budgetService.updateBudget(1L, updatedBudget);
+
+        budgetService.updateBudgetForTransaction(new Transaction(BigDecimal.valueOf(20), TransactionType.EXPENSE, CategoryType.TRAVEL, "b"));
+        verify(budgetRepository, never()).findByCategory(CategoryType.TRAVEL); //written through by updateBudget
+        assertThrows(IllegalArgumentException.class, () -> budgetService.updateBudgetForTransaction(
+                new Transaction(BigDecimal.valueOf(30), TransactionType.EXPENSE, CategoryType.FOOD, "c"))); //old category no longer cached
+    }
+
+    @Test
+    void updateBudget_LeavesCacheAloneWhenTheCommitFails() {
+        Budget existingBudget = new Budget();
+        existingBudget.setId(1L);
+        existingBudget.setCategory(CategoryType.FOOD);
+        existingBudget.setBudgetLimit(BigDecimal.valueOf(1000));
+        when(budgetRepository.findByCategory(CategoryType.FOOD)).thenReturn(Optional.of(existingBudget));
+        budgetService.updateBudgetForTransaction(new Transaction(BigDecimal.valueOf(10), TransactionType.EXPENSE, CategoryType.FOOD, "a")); //caches FOOD
+
+        Budget updatedBudget = new Budget();
+        updatedBudget.setCategory(CategoryType.TRAVEL);
+        updatedBudget.setBudgetLimit(BigDecimal.valueOf(1000));
+        when(budgetRepository.findFreshById(1L)).thenReturn(Optional.of(existingBudget));
+        when(budgetRepository.save(any(Budget.class))).thenReturn(existingBudget);
+        when(transactionRepository.sumAmountByCategoryAndType(CategoryType.TRAVEL, TransactionType.EXPENSE)).thenReturn(BigDecimal.ZERO);
+        doThrow(new ObjectOptimisticLockingFailureException(Budget.class, 1L)).when(transactionManager).commit(any()); //every attempt loses
+        TransactionSynchronizationManager.initSynchronization(); //as a real transaction manager would
+        try {
+            assertThrows(ObjectOptimisticLockingFailureException.class, () -> budgetService.updateBudget(1L, updatedBudget));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization(); //rolled back, the after-commit puts never run
+        }
+
+        budgetService.updateBudgetForTransaction(new Transaction(BigDecimal.valueOf(20), TransactionType.EXPENSE, CategoryType.FOOD, "b"));
+        verify(budgetRepository, times(1)).findByCategory(CategoryType.FOOD); //still cached under FOOD, as in the database
+    }
+
+    @Test
+    void deleteBudget_EvictsCachedBudget() {
+        Budget budget = new Budget();
+        budget.setId(1L);
+        when(budgetRepository.findByCategory(CategoryType.FOOD)).thenReturn(Optional.of(budget), Optional.empty());
+        Transaction expense = new Transaction(BigDecimal.valueOf(10), TransactionType.EXPENSE, CategoryType.FOOD, "a");
+        budgetService.updateBudgetForTransaction(expense);
+
+        budgetService.deleteBudget(1L);
+
+        assertThrows(IllegalArgumentException.class, () -> budgetService.updateBudgetForTransaction(expense));
+        verify(budgetRepository, times(2)).findByCategory(CategoryType.FOOD);
+    }
+
+    @Test
+    void updateAllBudgetsRemainingAmounts_RecountsAgainWhenABudgetChangedMeanwhile() {
+        when(budgetRepository.findAll()).thenReturn(List.of());
+        doThrow(new ObjectOptimisticLockingFailureException(Budget.class, 1L)) //an addToRemainingAmount committed first
+                .doNothing().when(transactionManager).commit(any());
+
+        budgetService.updateAllBudgetsRemainingAmounts();
+
+        verify(budgetRepository, times(2)).findAll(); //read again in the second transaction
+        verify(transactionManager, times(2)).commit(any());
+    }
+
+    @Test
+    void updateAllBudgetsRemainingAmounts_TimesTheCommit() {
+        when(budgetRepository.findAll()).thenReturn(List.of());
+        doAnswer(invocation -> {
+            Thread.sleep(50); //the batched updates are written here
+            return null;
+        }).when(transactionManager).commit(any());
+
+        assertTrue(budgetService.updateAllBudgetsRemainingAmounts().getElapsedMillis() >= 50);
+    }
+
+    @Test
+    void updateAllBudgetsRemainingAmounts_InvalidatesCache() {
+        Budget budget = new Budget();
+        budget.setId(1L);
+        when(budgetRepository.findByCategory(CategoryType.FOOD)).thenReturn(Optional.of(budget));
+        Transaction expense = new Transaction(BigDecimal.valueOf(10), TransactionType.EXPENSE, CategoryType.FOOD, "a");
+        budgetService.updateBudgetForTransaction(expense);
+
+        budgetService.updateAllBudgetsRemainingAmounts();
+        budgetService.updateBudgetForTransaction(expense);
+
+        verify(budgetRepository, times(2)).findByCategory(CategoryType.FOOD); //reloaded after the invalidation
+    }
+
+    @Test
+    void updateBudgetForTransaction_OutsideBudgetWindow() {
+        Transaction transaction = new Transaction(BigDecimal.valueOf(100), TransactionType.EXPENSE, CategoryType.FOOD, "test",
+                new GregorianCalendar(2024, Calendar.DECEMBER, 5).getTime());
+        Budget budget = new Budget();
+        budget.setId(1L);
+        budget.setStartDate(new GregorianCalendar(2024, Calendar.NOVEMBER, 1).getTime());
+        budget.setEndDate(new GregorianCalendar(2024, Calendar.NOVEMBER, 30).getTime());
+        when(budgetRepository.findByCategory(CategoryType.FOOD)).thenReturn(Optional.of(budget));
+
+        budgetService.updateBudgetForTransaction(transaction);
+
+        verify(budgetRepository, never()).addToRemainingAmount(anyLong(), any()); //December expense doesn't count against a November budget
+    }
+
+    @Test
+    void updateBudgetsForTransactions_AsyncQueuesOneEventPerBudget() {
+        BudgetService asyncBudgetService = new BudgetService(budgetRepository, transactionRepository, new BudgetCache(budgetRepository), outboxRepository, transactionManager, true);
+        Budget food = new Budget();
+        food.setId(1L);
+        food.setCategory(CategoryType.FOOD);
+        when(budgetRepository.findByCategory(CategoryType.FOOD)).thenReturn(Optional.of(food));
+
+        asyncBudgetService.updateBudgetsForTransactions(List.of(
+                new Transaction(BigDecimal.valueOf(100), TransactionType.EXPENSE, CategoryType.FOOD, "a"),
+                new Transaction(BigDecimal.valueOf(50), TransactionType.EXPENSE, CategoryType.FOOD, "b")
+        ));
+
+        verify(outboxRepository, times(1)).save(argThat((BudgetOutboxEvent event) ->
+                event.getBudgetId() == 1L && event.getAmount().compareTo(BigDecimal.valueOf(-150)) == 0));
+        verify(budgetRepository, never()).addToRemainingAmount(anyLong(), any()); //applied later by BudgetOutboxWorker
+    }
+
+    @Test
+    void reverseBudgetForTransaction_AsyncStillRejectsMissingBudget() {
+        BudgetService asyncBudgetService = new BudgetService(budgetRepository, transactionRepository, new BudgetCache(budgetRepository), outboxRepository, transactionManager, true);
+        when(budgetRepository.findByCategory(CategoryType.TRAVEL)).thenReturn(Optional.empty());
+
+        assertThrows(IllegalArgumentException.class, () -> asyncBudgetService.reverseBudgetForTransaction(
+                new Transaction(BigDecimal.TEN, TransactionType.EXPENSE, CategoryType.TRAVEL, "train")));
+        verify(outboxRepository, never()).save(any());
+    }
+
+    @Test
+    void updateAllBudgetsRemainingAmounts_AsyncDropsEventsTheRecountCovers() {
+        BudgetService asyncBudgetService = new BudgetService(budgetRepository, transactionRepository, new BudgetCache(budgetRepository), outboxRepository, transactionManager, true);
+        when(outboxRepository.findPendingIds()).thenReturn(List.of(7L, 8L));
+        when(budgetRepository.findAll()).thenReturn(List.of());
+
+        asyncBudgetService.updateAllBudgetsRemainingAmounts();
+
+        verify(outboxRepository, times(1)).deleteAllByIdInBatch(List.of(7L, 8L)); //otherwise the worker would apply them a second time
     }
 
 
@@ -0,0 +1,93 @@
+package com.project.ems_backend.service;
+
+import com.project.ems_backend.model.CategoryType;
+import com.project.ems_backend.model.CursorSlice;
+import com.project.ems_backend.model.Transaction;
+import com.project.ems_backend.model.TransactionFilter;
+import com.project.ems_backend.model.TransactionView;
+import com.project.ems_backend.model.TransactionType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+
+import static org.mockito.Mockito.*;
+
+class ReactiveTransactionServiceTest {
+
+    private final TransactionService transactionService = mock(TransactionService.class);
+    private ReactiveTransactionService reactiveTransactionService;
+
+    private final Transaction coffee = transaction(1L, "Coffee");
+    private final Transaction train = transaction(2L, "Train");
+    private final Transaction bonus = transaction(3L, "Bonus");
+
+    @BeforeEach
+    void setUp() {
+        reactiveTransactionService = new ReactiveTransactionService(transactionService, 2, 100);
+        when(transactionService.scrollTransactions(2, "id", null, null, "contains"))
+                .thenReturn(new CursorSlice<>(List.of(coffee, train), PageRequest.of(0, 2), true, "next"));
+        when(transactionService.scrollTransactions(2, "id", "next", null, "contains"))
+                .thenReturn(new CursorSlice<>(List.of(bonus), PageRequest.of(0, 2), false, null));
+    }
+
+    @AfterEach
+    void tearDown() {
+        reactiveTransactionService.close();
+    }
+
+    @Test
+    void streamTransactions_FollowsCursorsToTheLastSlice() {
+        StepVerifier.create(reactiveTransactionService.streamTransactions(2, "id", null, "contains"))
+                .expectNext(coffee, train, bonus)
+                .verifyComplete();
+    }
+
+    @Test
+    void streamTransactions_ReadsAtMostOneSliceAhead() {
+        when(transactionService.scrollTransactions(1, "id", null, null, "contains"))
+                .thenReturn(new CursorSlice<>(List.of(coffee), PageRequest.of(0, 1), true, "second"));
+        when(transactionService.scrollTransactions(1, "id", "second", null, "contains"))
+                .thenReturn(new CursorSlice<>(List.of(train), PageRequest.of(0, 1), true, "third"));
+
+        StepVerifier.create(reactiveTransactionService.streamTransactions(1, "id", null, "contains"), 1)
+                .expectNext(coffee)
+                .thenAwait(Duration.ofMillis(200))
+                .thenCancel()
+                .verify();
+
+        verify(transactionService, never()).scrollTransactions(1, "id", "third", null, "contains"); //the subscriber only asked for one row
+    }
+
+    @Test
+    void getFilteredTransactions_KeepsListingSemantics() {
+        PageImpl<TransactionView> page = new PageImpl<>(List.of(TransactionView.of(coffee)), PageRequest.of(0, 10), 1);
+        TransactionFilter filter = TransactionFilter.of(null, "cof", "startsWith");
+        when(transactionService.getFilteredTransactions(0, 10, "id", filter)).thenReturn(page);
+
+        StepVerifier.create(reactiveTransactionService.getFilteredTransactions(0, 10, "id", filter))
+                .expectNext(page)
+                .verifyComplete();
+    }
+
+    @Test
+    void getTransactionById_PropagatesNotFound() {
+        when(transactionService.getTransactionById(9L)).thenThrow(new IllegalArgumentException("Transaction not found with id: 9"));
+
+        StepVerifier.create(reactiveTransactionService.getTransactionById(9L))
+                .expectError(IllegalArgumentException.class)
+                .verify();
+    }
+
+    private static Transaction transaction(Long id, String description) {
+        Transaction transaction = new Transaction(BigDecimal.TEN, TransactionType.EXPENSE, CategoryType.FOOD, description);
+        transaction.setId(id);
+        return transaction;
+    }
+}
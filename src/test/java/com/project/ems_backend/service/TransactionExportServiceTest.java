@@ -0,0 +1,75 @@
+package com.project.ems_backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.ems_backend.model.CategoryType;
+import com.project.ems_backend.model.Transaction;
+import com.project.ems_backend.model.TransactionType;
+import com.project.ems_backend.repository.TransactionRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest //real repository stream over H2
+class TransactionExportServiceTest {
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private TransactionExportService transactionExportService;
+
+    @BeforeEach
+    void setUp() {
+        transactionExportService = new TransactionExportService(transactionRepository, entityManager, new ObjectMapper());
+        transactionRepository.saveAll(List.of(
+                new Transaction(new BigDecimal("12.50"), TransactionType.EXPENSE, CategoryType.FOOD, "Lunch, with team",
+                        new GregorianCalendar(2024, Calendar.OCTOBER, 5).getTime()),
+                new Transaction(new BigDecimal("5000.00"), TransactionType.INCOME, CategoryType.SALARY, "Salary",
+                        new GregorianCalendar(2024, Calendar.OCTOBER, 1).getTime())
+        ));
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void exportCsv() throws Exception {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        long rows = transactionExportService.exportTransactions(output, "csv");
+
+        String[] lines = output.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, rows);
+        assertEquals("amount,type,category,description,transactionDate", lines[0]);
+        assertEquals("12.50,EXPENSE,FOOD,\"Lunch, with team\",2024-10-05", lines[1]); //description with a comma gets quoted
+        assertEquals("5000.00,INCOME,SALARY,Salary,2024-10-01", lines[2]);
+    }
+
+    @Test
+    void exportNdjson() throws Exception {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        transactionExportService.exportTransactions(output, "ndjson");
+
+        String[] lines = output.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length); //one JSON document per line, no header
+        assertTrue(lines[0].startsWith("{") && lines[0].contains("\"description\":\"Lunch, with team\""));
+    }
+
+    @Test
+    void exportUnknownFormat() {
+        assertThrows(IllegalArgumentException.class, () -> transactionExportService.exportTransactions(new ByteArrayOutputStream(), "xml"));
+    }
+}
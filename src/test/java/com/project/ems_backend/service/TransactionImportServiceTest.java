@@ -0,0 +1,138 @@
+package com.project.ems_backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.ems_backend.model.CategoryType;
+import com.project.ems_backend.model.ImportResult;
+import com.project.ems_backend.model.Transaction;
+import com.project.ems_backend.model.TransactionType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+class TransactionImportServiceTest {
+
+    @Mock
+    private TransactionService transactionService;
+
+    @Mock
+    private BudgetService budgetService;
+
+    private TransactionImportService transactionImportService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        transactionImportService = new TransactionImportService(transactionService, budgetService, new ObjectMapper(), 2, 10); //chunks of two rows
+        when(budgetService.hasBudget(any())).thenReturn(true);
+    }
+
+    @Test
+    void importCsv() throws Exception {
+        String csv = """
+                description,amount,category,transactionDate
+                "Lunch, with team",12.50,food,2024-10-05
+                Salary,5000,SALARY,
+                Bus,3.20,TRAVEL,2024-10-06
+                """;
+
+        ImportResult result = transactionImportService.importCsv(stream(csv));
+
+        ArgumentCaptor<List<Transaction>> chunks = ArgumentCaptor.forClass(List.class);
+        verify(transactionService, times(2)).saveAllTransactions(chunks.capture()); //3 rows in chunks of 2 -> two commits
+        Transaction lunch = chunks.getAllValues().get(0).get(0);
+        assertEquals("Lunch, with team", lunch.getDescription()); //quoted comma stays in the field
+        assertEquals(new BigDecimal("12.50"), lunch.getAmount());
+        assertEquals(CategoryType.FOOD, lunch.getCategory()); //category names are case-insensitive
+        assertEquals(TransactionType.EXPENSE, lunch.getType()); //type comes from the category
+        assertNotNull(lunch.getTransactionDate());
+        assertEquals(TransactionType.INCOME, chunks.getAllValues().get(0).get(1).getType());
+
+        assertEquals(3, result.getRowsRead());
+        assertEquals(3, result.getRowsImported());
+        assertEquals(2, result.getChunksCommitted());
+        assertEquals(0, result.getRowsFailed());
+    }
+
+    @Test
+    void importCsv_ReportsBadRowsAndKeepsGoing() throws Exception {
+        String csv = """
+                amount,type,category,description
+                abc,EXPENSE,FOOD,Not a number
+                10,EXPENSE,UNKNOWN,No such category
+                10,INCOME,FOOD,Wrong type
+                10,EXPENSE,FOOD,Fine
+                """;
+
+        ImportResult result = transactionImportService.importCsv(stream(csv));
+
+        assertEquals(4, result.getRowsRead());
+        assertEquals(1, result.getRowsImported());
+        assertEquals(3, result.getRowsFailed());
+        assertEquals(List.of(2L, 3L, 4L), result.getErrors().stream().map(ImportResult.RowError::getLine).toList()); //line numbers include the header
+    }
+
+    @Test
+    void importCsv_RejectedChunkFailsItsRows() throws Exception {
+        doThrow(new IllegalStateException("Connection lost")).when(transactionService).saveAllTransactions(anyList());
+
+        ImportResult result = transactionImportService.importCsv(stream("10,EXPENSE,FOOD,a\n20,EXPENSE,FOOD,b\n")); //no header, default column order
+
+        assertEquals(0, result.getRowsImported());
+        assertEquals(2, result.getRowsFailed());
+        assertTrue(result.getErrors().get(0).getMessage().contains("Chunk rejected"));
+    }
+
+    @Test
+    void importCsv_RowsTheSaveWouldRejectFailAlone() throws Exception {
+        when(budgetService.hasBudget(CategoryType.FOOD)).thenReturn(false);
+        String csv = """
+                amount,category,description
+                10,FOOD,No budget
+                10.005,TRAVEL,Fraction of a cent
+                10,TRAVEL,Fine
+                5000,SALARY,Income needs no budget
+                """;
+
+        ImportResult result = transactionImportService.importCsv(stream(csv));
+
+        assertEquals(2, result.getRowsImported()); //the bad rows didn't take their chunk with them
+        assertEquals(List.of(2L, 3L), result.getErrors().stream().map(ImportResult.RowError::getLine).toList());
+        assertTrue(result.getErrors().get(0).getMessage().contains("Budget not found"));
+        verify(budgetService, never()).hasBudget(CategoryType.SALARY);
+    }
+
+    @Test
+    void importNdjson() throws Exception {
+        String ndjson = """
+                {"amount": 20.00, "category": "SHOPPING", "description": "Shoes", "transactionDate": "2024-10-07"}
+                {"amount": 1, "category": "NOPE"}
+
+                {"amount": 300, "type": "INCOME", "category": "FREELANCING", "description": "Gig"}
+                """;
+
+        ImportResult result = transactionImportService.importNdjson(stream(ndjson));
+
+        assertEquals(3, result.getRowsRead()); //blank lines are skipped
+        assertEquals(2, result.getRowsImported());
+        assertEquals(1, result.getRowsFailed());
+        assertEquals(2L, result.getErrors().get(0).getLine());
+        verify(transactionService, times(1)).saveAllTransactions(anyList());
+    }
+
+    private static InputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,160 @@
+package com.project.ems_backend.service;
+
+import com.project.ems_backend.model.CategoryType;
+import com.project.ems_backend.model.TransactionFilter;
+import com.project.ems_backend.model.TransactionView;
+import com.project.ems_backend.service.TransactionQueryCache.Key;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TransactionQueryCacheTest {
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    void key_NormalizesFilter() {
+        assertEquals(Key.of(0, 10, "id", TransactionFilter.of(null, "coffee", "contains")), Key.of(0, 10, "id", TransactionFilter.of(null, "Coffee", "contains")));
+        assertNotEquals(Key.of(0, 10, "id", TransactionFilter.of(5L, null, null)), Key.of(0, 10, "id", TransactionFilter.of(5L, "coffee", "contains"))); //both conditions apply
+        assertEquals(Key.of(0, 10, "id", TransactionFilter.of(null, null, null)), Key.of(0, 10, "id", TransactionFilter.of(null, "coffee", "unknown"))); //lists everything
+        assertNotEquals(Key.of(0, 10, "id", TransactionFilter.of(null, "coffee", "contains")), Key.of(1, 10, "id", TransactionFilter.of(null, "coffee", "contains")));
+        assertEquals(Key.of(0, 10, "id", new TransactionFilter(null, null, null, new BigDecimal("10.00"), null, Set.of(), Set.of(CategoryType.FOOD))),
+                Key.of(0, 10, "id", new TransactionFilter(null, null, null, new BigDecimal("10"), null, null, Set.of(CategoryType.FOOD))));
+    }
+
+    @Test
+    void get_LoadsOnceUntilEvicted() {
+        TransactionQueryCache cache = cache(null);
+        Key key = Key.of(0, 10, "id", TransactionFilter.of(null, "coffee", "startsWith"));
+
+        cache.get(key, this::load);
+        cache.get(key, this::load);
+        assertEquals(1, loads.get());
+
+        cache.evictAfterCommit(1L, "Coffee beans");
+        cache.get(key, this::load);
+        assertEquals(2, loads.get());
+        assertEquals(0.33, cache.stats().hitRatio(), 0.01);
+    }
+
+    @Test
+    void evictAfterCommit_OnlyAffectedPages() {
+        TransactionQueryCache cache = cache(null);
+        Key coffee = Key.of(0, 10, "id", TransactionFilter.of(null, "coffee", "contains"));
+        Key train = Key.of(0, 10, "id", TransactionFilter.of(null, "train", "equals"));
+        Key notTrain = Key.of(0, 10, "id", TransactionFilter.of(null, "train", "notEquals"));
+        Key byOtherId = Key.of(0, 10, "id", TransactionFilter.of(9L, null, null));
+        Key unfiltered = Key.of(0, 10, "id", TransactionFilter.of(null, null, null));
+        Key byAmount = Key.of(0, 10, "id", new TransactionFilter(null, null, null, new BigDecimal("1000"), null, null, null));
+        for (Key key : List.of(coffee, train, notTrain, byOtherId, unfiltered, byAmount)) {
+            cache.get(key, this::load);
+        }
+
+        cache.evictAfterCommit(1L, "Train to work", "Coffee"); //update that changed the description from "Coffee"
+
+        loads.set(0);
+        cache.get(train, this::load);      //"train to work" isn't equal to "train"
+        cache.get(byOtherId, this::load);
+        assertEquals(0, loads.get());
+        cache.get(coffee, this::load);     //old description matched
+        cache.get(notTrain, this::load);   //new description matches
+        cache.get(unfiltered, this::load); //every write changes the unfiltered pages
+        cache.get(byAmount, this::load);   //amount conditions aren't checked, so those pages are always evicted
+        assertEquals(4, loads.get());
+    }
+
+    @Test
+    void get_DropsPageReadWhileEvicting() {
+        TransactionQueryCache cache = cache(null);
+        Key key = Key.of(0, 10, "id", TransactionFilter.of(null, null, null));
+
+        cache.get(key, () -> {
+            cache.evictAfterCommit(1L, "Coffee"); //a write commits while the page is being read
+            return load();
+        });
+        cache.get(key, this::load);
+
+        assertEquals(2, loads.get()); //the page read before the eviction wasn't kept
+    }
+
+    @Test
+    void get_FallsBackToSharedTier() {
+        InMemorySharedPageCache shared = new InMemorySharedPageCache();
+        Key key = Key.of(0, 10, "id", TransactionFilter.of(null, "coffee", "contains"));
+        cache(shared).get(key, this::load); //another instance loaded the page
+
+        TransactionQueryCache cache = cache(shared);
+        cache.get(key, this::load);
+        assertEquals(1, loads.get());
+        assertEquals(1, cache.stats().sharedHits());
+
+        cache.evictAfterCommit(1L, "Coffee");
+        assertTrue(shared.pages.isEmpty()); //evicted from both tiers
+    }
+
+    @Test
+    void get_Disabled() {
+        TransactionQueryCache cache = new TransactionQueryCache(provider(null), false, 100, Duration.ofMinutes(1));
+        Key key = Key.of(0, 10, "id", TransactionFilter.of(null, null, null));
+
+        cache.get(key, this::load);
+        cache.get(key, this::load);
+
+        assertEquals(2, loads.get());
+    }
+
+    private Page<TransactionView> load() {
+        loads.incrementAndGet();
+        return new PageImpl<>(List.of());
+    }
+
+    private static TransactionQueryCache cache(SharedTransactionPageCache shared) {
+        return new TransactionQueryCache(provider(shared), true, 100, Duration.ofMinutes(1));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ObjectProvider<SharedTransactionPageCache> provider(SharedTransactionPageCache shared) {
+        ObjectProvider<SharedTransactionPageCache> provider = mock(ObjectProvider.class);
+        when(provider.getIfAvailable()).thenReturn(shared);
+        return provider;
+    }
+
+    // Local stand-in for a shared store such as Redis
+    private static class InMemorySharedPageCache implements SharedTransactionPageCache {
+        private final Map<Key, Page<TransactionView>> pages = new ConcurrentHashMap<>();
+
+        @Override
+        public Page<TransactionView> get(Key key) {
+            return pages.get(key);
+        }
+
+        @Override
+        public void put(Key key, Page<TransactionView> page) {
+            pages.put(key, page);
+        }
+
+        @Override
+        public void evictIf(Predicate<Key> affected) {
+            pages.keySet().removeIf(affected);
+        }
+
+        @Override
+        public void clear() {
+            pages.clear();
+        }
+    }
+}
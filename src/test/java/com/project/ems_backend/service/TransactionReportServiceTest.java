@@ -0,0 +1,157 @@
+package com.project.ems_backend.service;
+
+import com.project.ems_backend.model.*;
+import com.project.ems_backend.repository.TransactionReportRow;
+import com.project.ems_backend.repository.TransactionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+class TransactionReportServiceTest {
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionReportService reportService;
+
+    private final List<TransactionReportRow> rows = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        reportService = new TransactionReportService(transactionRepository, transactionManager, new SyncTaskExecutor(), Duration.ofHours(1), 1000);
+        when(transactionRepository.streamReportRows()).thenAnswer(invocation -> rows.stream());
+        when(transactionRepository.count()).thenAnswer(invocation -> (long) rows.size());
+    }
+
+    @Test
+    void getCategoryReport() {
+        for (int amount = 1; amount <= 100; amount++) { //FOOD: 1.00 .. 100.00
+            add(amount + ".00", CategoryType.FOOD, LocalDate.of(2024, 1, 1), "meal");
+        }
+        add("40.00", CategoryType.TRAVEL, LocalDate.of(2024, 1, 2), "bus");
+        add("5000.00", CategoryType.SALARY, LocalDate.of(2024, 1, 3), "salary");
+
+        Map<CategoryType, CategoryReport> report = reportService.getCategoryReport(null, null, TransactionType.EXPENSE).stream()
+                .collect(Collectors.toMap(CategoryReport::getCategory, line -> line));
+
+        assertEquals(2, report.size()); //income is filtered out by type
+        CategoryReport food = report.get(CategoryType.FOOD);
+        assertEquals(100, food.getCount());
+        assertEquals(new BigDecimal("5050.00"), food.getTotal());
+        assertEquals(new BigDecimal("50.50"), food.getAverage());
+        assertEquals(new BigDecimal("50.00"), food.getP50());
+        assertEquals(new BigDecimal("90.00"), food.getP90());
+        assertEquals(new BigDecimal("99.00"), food.getP99());
+        assertEquals(new BigDecimal("40.00"), report.get(CategoryType.TRAVEL).getP99());
+    }
+
+    @Test
+    void getCashFlow_ByMonth() {
+        add("3000.00", CategoryType.SALARY, LocalDate.of(2024, 1, 31), "salary");
+        add("120.50", CategoryType.FOOD, LocalDate.of(2024, 1, 15), "groceries");
+        add("80.00", CategoryType.TRAVEL, LocalDate.of(2024, 3, 2), "train");
+        add("10.00", CategoryType.FOOD, null, "undated");
+        add("999.00", CategoryType.FOOD, LocalDate.of(2023, 12, 31), "before range");
+
+        CashFlowReport report = reportService.getCashFlow(LocalDate.of(2024, 1, 1), null, "month");
+
+        assertEquals(new BigDecimal("3000.00"), report.getIncome());
+        assertEquals(new BigDecimal("200.50"), report.getExpense()); //undated rows have no day, so a date filter excludes them
+        assertEquals(new BigDecimal("2799.50"), report.getNet());
+        assertEquals(List.of("2024-01", "2024-03"), report.getPeriods().stream().map(CashFlowReport.Period::getPeriod).toList()); //empty February is skipped
+        assertEquals(new BigDecimal("2879.50"), report.getPeriods().get(0).getNet());
+    }
+
+    @Test
+    void getCashFlow_UnknownPeriod() {
+        assertThrows(IllegalArgumentException.class, () -> reportService.getCashFlow(null, null, "week"));
+    }
+
+    @Test
+    void getTopDescriptions() {
+        add("5.00", CategoryType.FOOD, LocalDate.of(2024, 1, 1), "coffee");
+        add("5.00", CategoryType.FOOD, LocalDate.of(2024, 1, 2), "coffee");
+        add("30.00", CategoryType.FOOD, LocalDate.of(2024, 1, 3), "dinner");
+        add("2.00", CategoryType.FOOD, LocalDate.of(2024, 1, 4), "gum");
+        add("500.00", CategoryType.TRAVEL, LocalDate.of(2024, 1, 5), "flight");
+
+        List<DescriptionTotal> top = reportService.getTopDescriptions(CategoryType.FOOD, null, null, 2);
+
+        assertEquals(List.of("dinner", "coffee"), top.stream().map(DescriptionTotal::getDescription).toList());
+        assertEquals(2, top.get(1).getCount());
+        assertEquals(new BigDecimal("10.00"), top.get(1).getTotal());
+    }
+
+    // Enough rows for many fork-join leaves; every report must match a plain sequential computation
+    @Test
+    void parallelScansMatchSequentialResults() {
+        Random random = new Random(7);
+        CategoryType[] categories = CategoryType.values();
+        for (int i = 0; i < 300_000; i++) {
+            CategoryType category = categories[random.nextInt(categories.length)];
+            add(BigDecimal.valueOf(random.nextInt(100_000), 2).toPlainString(), category,
+                    LocalDate.of(2023, 1, 1).plusDays(random.nextInt(730)), "item " + random.nextInt(50));
+        }
+        LocalDate from = LocalDate.of(2023, 6, 1);
+        LocalDate to = LocalDate.of(2024, 5, 31);
+
+        for (CategoryReport line : reportService.getCategoryReport(from, to, null)) {
+            long[] amounts = rows.stream()
+                    .filter(row -> row.getCategory() == line.getCategory() && inRange(row, from, to))
+                    .mapToLong(row -> row.getAmount().movePointRight(2).longValueExact())
+                    .sorted()
+                    .toArray();
+            assertEquals(amounts.length, line.getCount());
+            assertEquals(BigDecimal.valueOf(Arrays.stream(amounts).sum(), 2), line.getTotal());
+            assertEquals(BigDecimal.valueOf(amounts[(int) Math.ceil(0.9 * amounts.length) - 1], 2), line.getP90());
+        }
+
+        BigDecimal expectedExpense = rows.stream()
+                .filter(row -> row.getType() == TransactionType.EXPENSE && inRange(row, from, to))
+                .map(TransactionReportRow::getAmount)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        CashFlowReport cashFlow = reportService.getCashFlow(from, to, "day");
+        assertEquals(0, expectedExpense.compareTo(cashFlow.getExpense()));
+        assertEquals(0, expectedExpense.compareTo(cashFlow.getPeriods().stream().map(CashFlowReport.Period::getExpense).reduce(BigDecimal.ZERO, BigDecimal::add)));
+    }
+
+    @Test
+    void rowsWithoutAmountCategoryOrTypeAreLeftOut() {
+        add("10.00", CategoryType.FOOD, LocalDate.of(2024, 1, 1), "meal");
+        rows.add(new Row(null, CategoryType.FOOD, TransactionType.EXPENSE, null, "no amount"));
+        rows.add(new Row(new BigDecimal("5.00"), null, TransactionType.EXPENSE, null, "no category"));
+        rows.add(new Row(new BigDecimal("7.00"), CategoryType.FOOD, null, null, "no type"));
+
+        assertEquals(1, reportService.refresh().getRows());
+        assertEquals(new BigDecimal("10.00"), reportService.getCategoryReport(null, null, null).get(0).getTotal());
+    }
+
+    private void add(String amount, CategoryType category, LocalDate date, String description) {
+        rows.add(new Row(new BigDecimal(amount), category, category.getType(), date == null ? null : java.sql.Date.valueOf(date), description));
+    }
+
+    private static boolean inRange(TransactionReportRow row, LocalDate from, LocalDate to) {
+        LocalDate date = ((java.sql.Date) row.getTransactionDate()).toLocalDate();
+        return !date.isBefore(from) && !date.isAfter(to);
+    }
+
+    private record Row(BigDecimal getAmount, CategoryType getCategory, TransactionType getType, Date getTransactionDate,
+                       String getDescription) implements TransactionReportRow {
+    }
+}
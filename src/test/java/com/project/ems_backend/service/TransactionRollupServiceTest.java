@@ -0,0 +1,118 @@
+package com.project.ems_backend.service;
+
+import com.project.ems_backend.model.CategoryType;
+import com.project.ems_backend.model.RollupTotal;
+import com.project.ems_backend.model.Transaction;
+import com.project.ems_backend.model.TransactionType;
+import com.project.ems_backend.repository.TransactionRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.GregorianCalendar;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE) //the upsert needs the MySQL mode of the configured H2 database
+@Import(TransactionRollupService.class)
+class TransactionRollupServiceTest {
+
+    private static final LocalDate FROM = LocalDate.of(2024, 1, 1);
+    private static final LocalDate TO = LocalDate.of(2024, 12, 31);
+
+    @Autowired
+    private TransactionRollupService rollupService;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Test
+    void addAndSubtract_MaintainDailyRows() {
+        Transaction lunch = save("12.50", CategoryType.FOOD, date(2024, Calendar.MARCH, 4));
+        Transaction dinner = save("30.00", CategoryType.FOOD, date(2024, Calendar.MARCH, 4));
+        Transaction bus = save("2.00", CategoryType.TRAVEL, date(2024, Calendar.MARCH, 5));
+        rollupService.add(List.of(lunch, dinner, bus));
+        rollupService.subtract(dinner);
+
+        List<RollupTotal> days = rollupService.getRollups("day", FROM, TO, null, null);
+
+        assertEquals(2, days.size());
+        assertEquals("2024-03-04", days.get(0).getPeriod());
+        assertEquals(0, new BigDecimal("12.50").compareTo(days.get(0).getTotal()));
+        assertEquals(1, days.get(0).getTransactionCount());
+        assertEquals(CategoryType.TRAVEL, days.get(1).getCategory());
+    }
+
+    @Test
+    void getRollups_ByMonthWithFilters() {
+        rollupService.add(List.of(
+                save("10.00", CategoryType.FOOD, date(2024, Calendar.MARCH, 1)),
+                save("15.00", CategoryType.FOOD, date(2024, Calendar.MARCH, 31)),
+                save("20.00", CategoryType.FOOD, date(2024, Calendar.APRIL, 2)),
+                save("99.00", CategoryType.TRAVEL, date(2024, Calendar.MARCH, 9)),
+                save("5.00", CategoryType.FOOD, date(2023, Calendar.DECEMBER, 30)) //outside the range
+        ));
+
+        List<RollupTotal> months = rollupService.getRollups("month", FROM, TO, CategoryType.FOOD, TransactionType.EXPENSE);
+
+        assertEquals(List.of("2024-03", "2024-04"), months.stream().map(RollupTotal::getPeriod).toList());
+        assertEquals(0, new BigDecimal("25.00").compareTo(months.get(0).getTotal()));
+        assertEquals(2, months.get(0).getTransactionCount());
+    }
+
+    @Test
+    void rebuild_MatchesIncrementalRows() {
+        List<Transaction> transactions = List.of(
+                save("10.00", CategoryType.FOOD, date(2024, Calendar.MAY, 1)),
+                save("7.25", CategoryType.FOOD, date(2024, Calendar.MAY, 1)),
+                save("40.00", CategoryType.SHOPPING, date(2024, Calendar.JUNE, 3)));
+        rollupService.add(transactions);
+        List<String> incremental = describe(rollupService.getRollups("day", FROM, TO, null, null));
+
+        int rows = rollupService.rebuild().getRowsWritten();
+
+        assertEquals(2, rows);
+        assertEquals(incremental, describe(rollupService.getRollups("day", FROM, TO, null, null)));
+    }
+
+    @Test
+    void rowsWithoutCategoryOrTypeAreLeftOut() {
+        Transaction dated = save("10.00", CategoryType.FOOD, date(2024, Calendar.MAY, 1));
+        Transaction noCategory = transactionRepository.save(new Transaction(new BigDecimal("5.00"), TransactionType.EXPENSE, null, "no category", date(2024, Calendar.MAY, 1)));
+        Transaction noType = transactionRepository.save(new Transaction(new BigDecimal("6.00"), null, CategoryType.FOOD, "no type", date(2024, Calendar.MAY, 1)));
+        rollupService.add(List.of(dated, noCategory, noType));
+        rollupService.subtract(noType);
+        List<String> incremental = describe(rollupService.getRollups("day", FROM, TO, null, null));
+
+        assertEquals(1, rollupService.rebuild().getRowsWritten());
+        assertEquals(incremental, describe(rollupService.getRollups("day", FROM, TO, null, null)));
+        assertEquals(1, incremental.size());
+    }
+
+    @Test
+    void getRollups_UnknownPeriod() {
+        assertThrows(IllegalArgumentException.class, () -> rollupService.getRollups("week", FROM, TO, null, null));
+    }
+
+    private Transaction save(String amount, CategoryType category, Date date) {
+        return transactionRepository.save(new Transaction(new BigDecimal(amount), category.getType(), category, "rollup test", date));
+    }
+
+    private static Date date(int year, int month, int day) {
+        return new GregorianCalendar(year, month, day).getTime();
+    }
+
+    private static List<String> describe(List<RollupTotal> totals) {
+        return totals.stream()
+                .map(total -> total.getPeriod() + " " + total.getCategory() + " " + total.getTotal().stripTrailingZeros().toPlainString() + " x" + total.getTransactionCount())
+                .toList();
+    }
+}
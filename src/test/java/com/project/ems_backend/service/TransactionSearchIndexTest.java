@@ -0,0 +1,73 @@
+package com.project.ems_backend.service;
+
+import com.project.ems_backend.model.CategoryType;
+import com.project.ems_backend.model.Transaction;
+import com.project.ems_backend.model.TransactionType;
+import com.project.ems_backend.repository.TransactionRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class TransactionSearchIndexTest {
+
+    private TransactionSearchIndex searchIndex;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        //in-memory index with room for at most 2 candidates
+        searchIndex = new TransactionSearchIndex(mock(TransactionRepository.class), mock(EntityManager.class), mock(PlatformTransactionManager.class), true, "", 2);
+        searchIndex.index(List.of(
+                transaction(1L, "Lunch with team"),
+                transaction(2L, "Team LUNCH"),
+                transaction(3L, "Bus ticket"),
+                transaction(4L, null)
+        ));
+        searchIndex.markReady();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        searchIndex.close();
+    }
+
+    @Test
+    void findCandidateIds() {
+        assertEquals(Optional.of(List.of(1L, 2L)), searchIndex.findCandidateIds("lunch")); //case-insensitive substring match
+        assertEquals(Optional.of(List.of(3L)), searchIndex.findCandidateIds("ICKE"));
+        assertEquals(Optional.of(List.of()), searchIndex.findCandidateIds("dinner")); //no hits: nothing to look up
+    }
+
+    @Test
+    void findCandidateIds_FallsBackWhenIndexCannotHelp() {
+        assertTrue(searchIndex.findCandidateIds("bu").isEmpty()); //shorter than one gram
+        assertTrue(searchIndex.findCandidateIds("l_nch").isEmpty()); //LIKE wildcards, the grams would match them literally
+        assertTrue(searchIndex.findCandidateIds("10%").isEmpty());
+        searchIndex.index(List.of(transaction(5L, "Lunch again")));
+        assertTrue(searchIndex.findCandidateIds("lunch").isEmpty()); //3 candidates > limit of 2, a scan is cheaper
+    }
+
+    @Test
+    void updateAndRemove() {
+        searchIndex.index(List.of(transaction(3L, "Train ticket"))); //same id replaces the old document
+        searchIndex.remove(1L);
+
+        assertEquals(Optional.of(List.of()), searchIndex.findCandidateIds("bus"));
+        assertEquals(Optional.of(List.of(3L)), searchIndex.findCandidateIds("train"));
+        assertEquals(Optional.of(List.of(2L)), searchIndex.findCandidateIds("lunch"));
+    }
+
+    private static Transaction transaction(Long id, String description) {
+        Transaction transaction = new Transaction(BigDecimal.TEN, TransactionType.EXPENSE, CategoryType.FOOD, description);
+        transaction.setId(id);
+        return transaction;
+    }
+}
@@ -0,0 +1,103 @@
+package com.project.ems_backend.service;
+
+import com.project.ems_backend.model.CategoryType;
+import com.project.ems_backend.model.CursorSlice;
+import com.project.ems_backend.model.Transaction;
+import com.project.ems_backend.model.TransactionType;
+import com.project.ems_backend.repository.TransactionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+@DataJpaTest //keyset queries are generated by Spring Data, so they are checked against H2 rather than mocks
+class TransactionServiceScrollTest {
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    private TransactionService transactionService;
+
+    @BeforeEach
+    void setUp() {
+        transactionService = new TransactionService(transactionRepository, mock(BudgetService.class), mock(TransactionSearchIndex.class),
+                mock(TransactionRollupService.class), mock(TransactionQueryCache.class));
+        transactionRepository.saveAll(List.of(
+                new Transaction(BigDecimal.valueOf(30), TransactionType.EXPENSE, CategoryType.FOOD, "Coffee beans"),
+                new Transaction(BigDecimal.valueOf(10), TransactionType.EXPENSE, CategoryType.FOOD, "Coffee"),
+                new Transaction(BigDecimal.valueOf(20), TransactionType.EXPENSE, CategoryType.TRAVEL, "Train"),
+                new Transaction(BigDecimal.valueOf(10), TransactionType.EXPENSE, CategoryType.SHOPPING, "Mug for coffee"),
+                new Transaction(BigDecimal.valueOf(50), TransactionType.INCOME, CategoryType.SALARY, "Bonus")
+        ));
+    }
+
+    @Test
+    void scrollTransactions_WalksEveryRowOnce() {
+        List<BigDecimal> amounts = new ArrayList<>();
+        String after = null;
+        int slices = 0;
+        do {
+            CursorSlice<Transaction> slice = transactionService.scrollTransactions(2, "amount", after, null, "contains");
+            slice.getContent().forEach(transaction -> amounts.add(transaction.getAmount()));
+            after = slice.getNextCursor();
+            slices++;
+        } while (after != null);
+
+        assertEquals(3, slices); //5 rows in slices of 2
+        //the two rows with amount 10 are told apart by id, so none is skipped or repeated at the slice boundary
+        assertEquals(List.of(10, 10, 20, 30, 50), amounts.stream().map(BigDecimal::intValue).toList());
+    }
+
+    @Test
+    void scrollTransactions_WithDescriptionFilter() {
+        CursorSlice<Transaction> first = transactionService.scrollTransactions(2, "id", null, "coffee", "contains");
+        CursorSlice<Transaction> second = transactionService.scrollTransactions(2, "id", first.getNextCursor(), "coffee", "contains");
+
+        assertTrue(first.hasNext());
+        assertEquals(2, first.getContent().size());
+        assertEquals(1, second.getContent().size()); //three descriptions contain "coffee" (case-insensitive)
+        assertEquals("Mug for coffee", second.getContent().get(0).getDescription());
+        assertFalse(second.hasNext());
+        assertNull(second.getNextCursor());
+    }
+
+    @Test
+    void scrollTransactions_PassesRowsWithoutDescription() {
+        transactionRepository.saveAll(List.of(
+                new Transaction(BigDecimal.valueOf(5), TransactionType.EXPENSE, CategoryType.FOOD, null),
+                new Transaction(BigDecimal.valueOf(7), TransactionType.EXPENSE, CategoryType.FOOD, null)
+        ));
+        List<Long> ids = new ArrayList<>();
+        String after = null;
+        do {
+            CursorSlice<Transaction> slice = transactionService.scrollTransactions(1, "category", after, null, "contains");
+            slice.getContent().forEach(transaction -> ids.add(transaction.getId()));
+            after = slice.getNextCursor();
+        } while (after != null);
+
+        assertEquals(7, ids.size()); //slices ending on a NULL description don't stop the scroll
+        assertEquals(7, ids.stream().distinct().count());
+    }
+
+    @Test
+    void scrollTransactions_NullableSortKeys() {
+        //"> null" matches nothing, so a keyset over these would stop or skip rows at the first NULL
+        assertThrows(IllegalArgumentException.class, () -> transactionService.scrollTransactions(2, "description", null, null, "contains"));
+        assertThrows(IllegalArgumentException.class, () -> transactionService.scrollTransactions(2, "transactionDate", null, null, "contains"));
+    }
+
+    @Test
+    void scrollTransactions_CursorFromAnotherSort() {
+        String cursor = transactionService.scrollTransactions(2, "id", null, null, "contains").getNextCursor();
+
+        assertThrows(IllegalArgumentException.class, () -> transactionService.scrollTransactions(2, "amount", cursor, null, "contains"));
+        assertThrows(IllegalArgumentException.class, () -> transactionService.scrollTransactions(2, "id", "not-a-cursor", null, "contains"));
+    }
+}
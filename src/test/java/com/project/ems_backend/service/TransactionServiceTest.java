@@ -2,6 +2,8 @@ package com.project.ems_backend.service;
 
 import com.project.ems_backend.model.CategoryType;
 import com.project.ems_backend.model.Transaction;
+import com.project.ems_backend.model.TransactionFilter;
+import com.project.ems_backend.model.TransactionView;
 import com.project.ems_backend.model.TransactionType;
 import com.project.ems_backend.repository.TransactionRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -9,12 +11,23 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
 
 import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 class TransactionServiceTest {
@@ -25,6 +38,15 @@ class TransactionServiceTest {
     @Mock
     private BudgetService budgetService;
 
+    @Mock
+    private TransactionSearchIndex searchIndex;
+
+    @Mock
+    private TransactionRollupService rollupService;
+
+    @Spy
+    private TransactionQueryCache queryCache = new TransactionQueryCache(mock(ObjectProvider.class), true, 100, Duration.ofMinutes(1));
+
     @InjectMocks // create an instance of the TransactionService and inject the TransactionRepository mock into it(focus on testing it independently)
     private TransactionService transactionService;
 
@@ -67,20 +89,37 @@ class TransactionServiceTest {
 
         verify(transactionRepository, times(1)).save(transaction);
         verify(budgetService, times(1)).updateBudgetForTransaction(transaction);
+        verify(rollupService, times(1)).add(List.of(transaction));
+    }
+
+    @Test
+    void testSaveAllTransactions() {
+        Transaction income = new Transaction(BigDecimal.valueOf(500), TransactionType.INCOME, CategoryType.SALARY, "Salary");
+        List<Transaction> transactions = List.of(transaction, income);
+        when(transactionRepository.saveAll(transactions)).thenReturn(transactions);
+
+        List<Transaction> saved = transactionService.saveAllTransactions(transactions);
+
+        assertEquals(2, saved.size());
+        verify(transactionRepository, times(1)).saveAll(transactions); //one batched insert call for the whole list
+        verify(budgetService, times(1)).updateBudgetsForTransactions(transactions); //budgets adjusted once per batch
+        verify(rollupService, times(1)).add(transactions);
+        verify(budgetService, never()).updateBudgetForTransaction(any());
     }
 
     @Test
     void testDeleteTransaction() {
-        // Mock findById and deleteById methods
-        when(transactionRepository.findById(1L)).thenReturn(Optional.of(transaction));
+        // Mock findFreshById and deleteById methods
+        when(transactionRepository.findFreshById(1L)).thenReturn(Optional.of(transaction));
         doNothing().when(transactionRepository).deleteById(1L);
 
         // Call the method to test
         transactionService.deleteTransaction(1L);
 
         // Verify repository and service interactions
-        verify(transactionRepository, times(1)).findById(1L);
+        verify(transactionRepository, times(1)).findFreshById(1L);
         verify(budgetService, times(1)).reverseBudgetForTransaction(transaction);
+        verify(rollupService, times(1)).subtract(transaction);
         verify(transactionRepository, times(1)).deleteById(1L);
     }
 
@@ -94,8 +133,8 @@ class TransactionServiceTest {
         updatedTransaction.setCategory(CategoryType.FREELANCING);
         updatedTransaction.setDescription("Project");
 
-        // Mock repository findById and save methods
-        when(transactionRepository.findById(1L)).thenReturn(Optional.of(transaction));
+        // Mock repository findFreshById and save methods
+        when(transactionRepository.findFreshById(1L)).thenReturn(Optional.of(transaction));
         when(transactionRepository.save(transaction)).thenReturn(transaction);
 
         // Call the method to test
@@ -108,10 +147,28 @@ class TransactionServiceTest {
         assertEquals("Project", result.getDescription());
 
         // Verify repository and service interactions
-        verify(transactionRepository, times(1)).findById(1L);
+        verify(transactionRepository, times(1)).findFreshById(1L);
         verify(transactionRepository, times(1)).save(transaction);
         verify(budgetService, times(1)).reverseBudgetForTransaction(transaction);
+        verify(rollupService, times(1)).subtract(transaction);
         verify(budgetService, times(1)).updateBudgetForTransaction(transaction);
+        verify(queryCache, times(1)).evictAfterCommit(1L, "Project", "Lunch"); //pages filtered on the old description too
+    }
+
+    @Test
+    void testGetFilteredTransactions_RepeatedReadIsCached() {
+        when(transactionRepository.findViews(any(Specification.class), any(Pageable.class))).thenReturn(new PageImpl<>(List.of(TransactionView.of(transaction))));
+
+        transactionService.getFilteredTransactions(0, 10, "id", TransactionFilter.of(null, "lun", "startsWith"));
+        Page<TransactionView> result = transactionService.getFilteredTransactions(0, 10, "id", TransactionFilter.of(null, "LUN", "startsWith")); //same filter after normalization
+
+        assertEquals(1, result.getTotalElements());
+        verify(transactionRepository, times(1)).findViews(any(Specification.class), any(Pageable.class));
+
+        when(transactionRepository.save(transaction)).thenReturn(transaction);
+        transactionService.saveTransaction(transaction); //"Lunch" starts with "lun", so the page is evicted
+        transactionService.getFilteredTransactions(0, 10, "id", TransactionFilter.of(null, "lun", "startsWith"));
+        verify(transactionRepository, times(2)).findViews(any(Specification.class), any(Pageable.class));
     }
 
     @Test
@@ -120,13 +177,58 @@ class TransactionServiceTest {
         when(transactionRepository.findById(1L)).thenReturn(Optional.of(transaction));
 
         // Call the method to test with ID filter
-        Page<Transaction> result = transactionService.getFilteredTransactions(0, 10, "amount", 1L, null, null);
+        Page<TransactionView> result = transactionService.getFilteredTransactions(0, 10, "amount", TransactionFilter.of(1L, null, null));
 
         // Verify and assert
         assertNotNull(result);
         assertEquals(1, result.getTotalElements());
-        assertEquals(transaction, result.getContent().get(0));
+        assertEquals(TransactionView.of(transaction), result.getContent().get(0));
 
         verify(transactionRepository, times(1)).findById(1L);
     }
-}
\ No newline at end of file
+
+    @Test
+    void testGetFilteredTransactions_IdWithOtherConditionsIsOneQuery() {
+        when(transactionRepository.findViews(any(Specification.class), any(Pageable.class))).thenReturn(new PageImpl<>(List.of(TransactionView.of(transaction))));
+
+        Page<TransactionView> result = transactionService.getFilteredTransactions(0, 10, "id",
+                new TransactionFilter(1L, "lun", "contains", BigDecimal.ONE, null, Set.of(TransactionType.EXPENSE), null));
+
+        assertEquals(1, result.getTotalElements());
+        verify(transactionRepository, never()).findById(anyLong());
+        verifyNoInteractions(searchIndex); //the id already narrows the query to one row
+    }
+
+    @Test
+    void testGetFilteredTransactions_ContainsUsesSearchIndex() {
+        when(searchIndex.findCandidateIds("lun")).thenReturn(Optional.of(List.of(1L, 7L))); //index narrowed the search to two rows
+        when(transactionRepository.findViews(any(Specification.class), any(Pageable.class))).thenReturn(new PageImpl<>(List.of(TransactionView.of(transaction))));
+
+        Page<TransactionView> result = transactionService.getFilteredTransactions(0, 10, "id", TransactionFilter.of(null, "lun", "contains"));
+
+        assertEquals(1, result.getTotalElements());
+        verify(searchIndex, times(1)).findCandidateIds("lun");
+        verify(transactionRepository, times(1)).findViews(any(Specification.class), any(Pageable.class));
+    }
+
+    @Test
+    void testGetFilteredTransactions_NoCandidatesNeedsNoQuery() {
+        when(searchIndex.findCandidateIds("dinner")).thenReturn(Optional.of(List.of())); //no description holds the term
+
+        Page<TransactionView> result = transactionService.getFilteredTransactions(0, 10, "id", TransactionFilter.of(null, "dinner", "contains"));
+
+        assertEquals(0, result.getTotalElements());
+        verify(transactionRepository, never()).findViews(any(Specification.class), any(Pageable.class));
+    }
+
+    @Test
+    void testGetFilteredTransactions_ContainsFallsBackToScan() {
+        when(searchIndex.findCandidateIds("lu")).thenReturn(Optional.empty()); //too short for the index
+        when(transactionRepository.findViews(any(Specification.class), any(Pageable.class))).thenReturn(new PageImpl<>(List.of(TransactionView.of(transaction))));
+
+        Page<TransactionView> result = transactionService.getFilteredTransactions(0, 10, "id", TransactionFilter.of(null, "lu", "contains"));
+
+        assertEquals(1, result.getTotalElements());
+        verify(transactionRepository, times(1)).findViews(any(Specification.class), any(Pageable.class));
+    }
+}